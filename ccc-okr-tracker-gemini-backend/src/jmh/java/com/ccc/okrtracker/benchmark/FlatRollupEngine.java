@@ -0,0 +1,168 @@
+package com.ccc.okrtracker.benchmark;
+
+import com.ccc.okrtracker.entity.BaseEntity;
+import com.ccc.okrtracker.entity.KeyResult;
+import com.ccc.okrtracker.entity.Project;
+import com.ccc.okrtracker.service.ProgressRollup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alternative rollup engine over primitive arrays, one set per level, to compare against the
+ * entity-walking ProgressRollup. Produces the same values: a node only takes part if it and all its
+ * ancestors are active, which is what the nested loops of ProgressRollup do implicitly.
+ */
+final class FlatRollupEngine {
+
+    private static final int LEVELS = 6;
+    private static final int KEY_RESULT = 4;
+
+    private final int[][] parent = new int[LEVELS][];
+    private final boolean[][] active = new boolean[LEVELS][];
+    private final int[][] progress = new int[LEVELS][];
+    private final boolean[][] hasStoredProgress = new boolean[LEVELS][];
+    private final boolean[] manual;
+    private final List<List<BaseEntity>> entities;
+
+    private FlatRollupEngine(List<List<BaseEntity>> entities, List<List<Integer>> parents) {
+        this.entities = entities;
+        for (int level = 0; level < LEVELS; level++) {
+            List<BaseEntity> nodes = entities.get(level);
+            int size = nodes.size();
+            parent[level] = new int[size];
+            active[level] = new boolean[size];
+            progress[level] = new int[size];
+            hasStoredProgress[level] = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                BaseEntity node = nodes.get(i);
+                int parentIndex = level == 0 ? -1 : parents.get(level).get(i);
+                parent[level][i] = parentIndex;
+                // The Project itself is always rolled up, whatever its own flag
+                active[level][i] = level == 0 || (node.getIsActive() && active[level - 1][parentIndex]);
+                Integer stored = SyntheticTrees.progressOf(node);
+                progress[level][i] = ProgressRollup.safeProgress(stored);
+                hasStoredProgress[level][i] = stored != null;
+            }
+        }
+        List<BaseEntity> keyResults = entities.get(KEY_RESULT);
+        manual = new boolean[keyResults.size()];
+        for (int i = 0; i < manual.length; i++) {
+            manual[i] = Boolean.TRUE.equals(((KeyResult) keyResults.get(i)).getManualProgressSet());
+        }
+    }
+
+    /**
+     * Flatten a Project tree breadth-first into per-level arrays.
+     */
+    static FlatRollupEngine from(Project project) {
+        List<List<BaseEntity>> entities = new ArrayList<>();
+        List<List<Integer>> parents = new ArrayList<>();
+        for (int level = 0; level < LEVELS; level++) {
+            entities.add(new ArrayList<>());
+            parents.add(new ArrayList<>());
+        }
+        entities.get(0).add(project);
+        for (int level = 1; level < LEVELS; level++) {
+            List<BaseEntity> above = entities.get(level - 1);
+            for (int i = 0; i < above.size(); i++) {
+                for (BaseEntity child : SyntheticTrees.children(above.get(i))) {
+                    if (child == null) continue;
+                    entities.get(level).add(child);
+                    parents.get(level).add(i);
+                }
+            }
+        }
+        return new FlatRollupEngine(entities, parents);
+    }
+
+    /**
+     * Recompute all progress values in place.
+     *
+     * @return number of nodes whose progress changed
+     */
+    int rollUp() {
+        int changed = 0;
+        int[] childSum = new int[0];
+        int[] childCount = new int[0];
+
+        // Action Items only feed their Key Result
+        int keyResults = progress[KEY_RESULT].length;
+        int[] itemCount = new int[keyResults];
+        long[] itemSum = new long[keyResults];
+        int[] activeItems = new int[keyResults];
+        int[] items = progress[LEVELS - 1];
+        for (int i = 0; i < items.length; i++) {
+            int kr = parent[LEVELS - 1][i];
+            itemCount[kr]++;
+            if (active[LEVELS - 1][i]) {
+                itemSum[kr] += items[i];
+                activeItems[kr]++;
+            }
+        }
+
+        for (int level = KEY_RESULT; level >= 0; level--) {
+            int[] values = progress[level];
+            int[] nextSum = level > 0 ? new int[progress[level - 1].length] : new int[0];
+            int[] nextCount = level > 0 ? new int[progress[level - 1].length] : new int[0];
+            for (int i = 0; i < values.length; i++) {
+                if (!active[level][i]) continue;
+                int value;
+                if (level == KEY_RESULT) {
+                    if (manual[i]) {
+                        value = values[i];
+                    } else if (activeItems[i] > 0) {
+                        value = (int) Math.min(100, Math.round((double) itemSum[i] / activeItems[i]));
+                    } else {
+                        value = itemCount[i] > 0 ? 0 : values[i];
+                    }
+                } else if (level == 0 && childCount[i] == 0) {
+                    continue; // A Project without active Initiatives keeps its value
+                } else {
+                    value = ProgressRollup.average(childSum[i], childCount[i]);
+                }
+                if (value != values[i] || !hasStoredProgress[level][i]) {
+                    values[i] = value;
+                    hasStoredProgress[level][i] = true;
+                    changed++;
+                }
+                if (level > 0) {
+                    nextSum[parent[level][i]] += value;
+                    nextCount[parent[level][i]]++;
+                }
+            }
+            childSum = nextSum;
+            childCount = nextCount;
+        }
+        return changed;
+    }
+
+    /**
+     * Fail if any node that takes part in the rollup has a different progress in the other engine
+     * (built from an identically generated tree).
+     */
+    void verifySameAs(FlatRollupEngine other) {
+        for (int level = 0; level < LEVELS; level++) {
+            List<BaseEntity> nodes = entities.get(level);
+            if (other.progress[level].length != nodes.size()) {
+                throw new IllegalStateException("Trees differ in size at level " + level);
+            }
+            for (int i = 0; i < nodes.size(); i++) {
+                if (!active[level][i]) continue;
+                int expected = other.progress[level][i];
+                if (progress[level][i] != expected) {
+                    throw new IllegalStateException("Engines disagree at level " + level + ", node "
+                            + nodes.get(i).getId() + ": " + progress[level][i] + " != " + expected);
+                }
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (int[] values : progress) {
+            size += values.length;
+        }
+        return size;
+    }
+}
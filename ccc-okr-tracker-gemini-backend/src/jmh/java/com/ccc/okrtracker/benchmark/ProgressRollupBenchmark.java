@@ -0,0 +1,66 @@
+package com.ccc.okrtracker.benchmark;
+
+import com.ccc.okrtracker.entity.Project;
+import com.ccc.okrtracker.service.ProgressRollup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the progress rollup on synthetic Project trees (see SyntheticTrees), without a database.
+ *
+ * - entityRollup: ProgressRollup as used by CalculationService, on an already loaded entity tree.
+ * - flatRollup: FlatRollupEngine on pre-flattened arrays.
+ * - flattenAndRollup: FlatRollupEngine including flattening the entity tree, i.e. the cost it would
+ *   have in CalculationService, where the tree always arrives as entities.
+ *
+ * Run with -prof gc (the default jmh.args of the benchmark profile) to see allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProgressRollupBenchmark {
+
+    // Children per node; the tree has 1 + w + w^2 + ... + w^depth nodes
+    @Param({"4", "8", "12"})
+    public int width;
+
+    // Levels below the Project: 5 reaches Action Items
+    @Param({"5"})
+    public int depth;
+
+    private Project project;
+    private FlatRollupEngine flat;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        project = SyntheticTrees.project(width, depth, 42L);
+        flat = FlatRollupEngine.from(SyntheticTrees.project(width, depth, 42L));
+        ProgressRollup.rollUp(project, (level, node, progress) -> { });
+        flat.rollUp();
+        // Both engines must agree before their speed is worth comparing
+        flat.verifySameAs(FlatRollupEngine.from(project));
+        if (flat.size() != SyntheticTrees.nodeCount(width, depth)) {
+            throw new IllegalStateException("Unexpected tree size " + flat.size());
+        }
+    }
+
+    @Benchmark
+    public void entityRollup(Blackhole blackhole) {
+        ProgressRollup.rollUp(project, (level, node, progress) -> blackhole.consume(progress));
+    }
+
+    @Benchmark
+    public int flatRollup() {
+        return flat.rollUp();
+    }
+
+    @Benchmark
+    public int flattenAndRollup() {
+        return FlatRollupEngine.from(project).rollUp();
+    }
+}
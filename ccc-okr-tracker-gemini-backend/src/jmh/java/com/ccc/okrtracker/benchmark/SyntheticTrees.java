@@ -0,0 +1,100 @@
+package com.ccc.okrtracker.benchmark;
+
+import com.ccc.okrtracker.entity.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory Project trees for the rollup benchmarks. No database or Spring context involved.
+ *
+ * Every node has 'width' active children down to 'depth' levels below the Project (5 = down to Action Items),
+ * plus the irregularities the rollup has to handle: about 10% archived nodes per level, 20% of Key Results
+ * with manually set progress and Action Items that are either done or not started.
+ */
+final class SyntheticTrees {
+
+    private SyntheticTrees() {
+    }
+
+    static Project project(int width, int depth, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] nextId = {1};
+        Project project = node(new Project(), nextId, random);
+        if (depth < 1) return project;
+        for (int i = 0; i < width; i++) {
+            StrategicInitiative init = node(new StrategicInitiative(), nextId, random);
+            project.getInitiatives().add(init);
+            if (depth < 2) continue;
+            for (int g = 0; g < width; g++) {
+                Goal goal = node(new Goal(), nextId, random);
+                init.getGoals().add(goal);
+                if (depth < 3) continue;
+                for (int o = 0; o < width; o++) {
+                    Objective obj = node(new Objective(), nextId, random);
+                    goal.getObjectives().add(obj);
+                    if (depth < 4) continue;
+                    for (int k = 0; k < width; k++) {
+                        KeyResult kr = node(new KeyResult(), nextId, random);
+                        kr.setManualProgressSet(random.nextInt(5) == 0);
+                        obj.getKeyResults().add(kr);
+                        if (depth < 5) continue;
+                        for (int a = 0; a < width; a++) {
+                            ActionItem ai = node(new ActionItem(), nextId, random);
+                            boolean done = random.nextBoolean();
+                            ai.setIsCompleted(done);
+                            ai.setProgress(done ? 100 : 0);
+                            kr.getActionItems().add(ai);
+                        }
+                    }
+                }
+            }
+        }
+        return project;
+    }
+
+    static int nodeCount(int width, int depth) {
+        int count = 1;
+        int levelSize = 1;
+        for (int level = 0; level < depth; level++) {
+            levelSize *= width;
+            count += levelSize;
+        }
+        return count;
+    }
+
+    private static <T extends BaseEntity> T node(T entity, long[] nextId, SplittableRandom random) {
+        entity.setId(nextId[0]++);
+        entity.setIsActive(random.nextInt(10) != 0);
+        setProgress(entity, random.nextInt(101));
+        return entity;
+    }
+
+    private static void setProgress(BaseEntity entity, int progress) {
+        if (entity instanceof Project p) p.setProgress(progress);
+        else if (entity instanceof StrategicInitiative i) i.setProgress(progress);
+        else if (entity instanceof Goal g) g.setProgress(progress);
+        else if (entity instanceof Objective o) o.setProgress(progress);
+        else if (entity instanceof KeyResult k) k.setProgress(progress);
+        else ((ActionItem) entity).setProgress(progress);
+    }
+
+    // Children of any node, in rollup order (used by FlatRollupEngine to flatten the tree)
+    static List<? extends BaseEntity> children(BaseEntity entity) {
+        if (entity instanceof Project p) return p.getInitiatives();
+        if (entity instanceof StrategicInitiative i) return i.getGoals();
+        if (entity instanceof Goal g) return g.getObjectives();
+        if (entity instanceof Objective o) return o.getKeyResults();
+        if (entity instanceof KeyResult k) return k.getActionItems();
+        return List.of();
+    }
+
+    static Integer progressOf(BaseEntity entity) {
+        if (entity instanceof Project p) return p.getProgress();
+        if (entity instanceof StrategicInitiative i) return i.getProgress();
+        if (entity instanceof Goal g) return g.getProgress();
+        if (entity instanceof Objective o) return o.getProgress();
+        if (entity instanceof KeyResult k) return k.getProgress();
+        return ((ActionItem) entity).getProgress();
+    }
+}
@@ -0,0 +1,158 @@
+package com.ccc.okrtracker.loadtest;
+
+import com.ccc.okrtracker.loadtest.Scenarios.Scenario;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load: 'concurrency' client threads, each sending its next request as soon as the previous one
+ * returned, picking scenarios by weight. Latency is measured client side, per scenario.
+ */
+final class LoadRunner {
+
+    /**
+     * Client-side latencies (nanoseconds) and failures of one scenario.
+     */
+    static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+        private String firstError;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void merge(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+            errors += other.errors;
+            if (firstError == null) {
+                firstError = other.firstError;
+            }
+        }
+
+        int count() {
+            return size;
+        }
+
+        long errors() {
+            return errors;
+        }
+
+        String firstError() {
+            return firstError;
+        }
+
+        // Nearest-rank percentile in milliseconds; sorts in place, so call after the run
+        double percentileMillis(double percentile) {
+            if (size == 0) return 0;
+            Arrays.sort(values, 0, size);
+            int rank = (int) Math.ceil(percentile / 100.0 * size);
+            return values[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final URI base;
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final int concurrency;
+
+    LoadRunner(URI base, List<Scenario> scenarios, int concurrency) {
+        this.base = base;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Run for the given time and return latencies by scenario name, in scenario order.
+     */
+    Map<String, Latencies> run(Duration duration, long seed) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, Latencies>>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = seeds.split();
+                workers.add(executor.submit(() -> work(random, deadline)));
+            }
+            Map<String, Latencies> merged = new LinkedHashMap<>();
+            for (Scenario scenario : scenarios) {
+                merged.put(scenario.name(), new Latencies());
+            }
+            for (Future<Map<String, Latencies>> worker : workers) {
+                worker.get().forEach((name, latencies) -> merged.get(name).merge(latencies));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Latencies> work(SplittableRandom random, long deadline) throws InterruptedException {
+        Map<String, Latencies> results = new LinkedHashMap<>();
+        while (System.nanoTime() < deadline) {
+            Scenario scenario = pick(random);
+            HttpRequest request = HttpRequest.newBuilder(scenario.request().apply(random, base), (name, value) -> true)
+                    .header(ScenarioStatsFilter.SCENARIO_HEADER, scenario.name())
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            Latencies latencies = results.computeIfAbsent(scenario.name(), k -> new Latencies());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                latencies.add(System.nanoTime() - start);
+                if (response.statusCode() >= 400) {
+                    fail(latencies, response.statusCode() + " " + abbreviate(response.body()));
+                }
+            } catch (java.io.IOException e) {
+                latencies.add(System.nanoTime() - start);
+                fail(latencies, e.toString());
+            }
+        }
+        return results;
+    }
+
+    private Scenario pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) return scenario;
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static void fail(Latencies latencies, String error) {
+        latencies.errors++;
+        if (latencies.firstError == null) {
+            latencies.firstError = error;
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body == null || body.length() <= 200 ? body : body.substring(0, 200) + "...";
+    }
+}
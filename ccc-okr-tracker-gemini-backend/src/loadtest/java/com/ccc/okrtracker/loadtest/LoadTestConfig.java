@@ -0,0 +1,60 @@
+package com.ccc.okrtracker.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Beans added to the application under test: a JwtDecoder standing in for the Keycloak issuer and the
+ * per-scenario stats filter (statement counts come from the application's QueryStatsFilter). SecurityConfig
+ * and UserService stay as they are, so authorities still come from the generated users and roles.
+ */
+@Configuration
+public class LoadTestConfig {
+
+    // Tokens are "loadtest.<base64url email>" (bearer token characters only); the email is all the
+    // application reads from a real JWT
+    static final String TOKEN_PREFIX = "loadtest.";
+
+    static String token(String email) {
+        return TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(email.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Bean
+    public JwtDecoder loadTestJwtDecoder() {
+        return token -> {
+            if (!token.startsWith(TOKEN_PREFIX)) {
+                throw new BadJwtException("Not a load test token");
+            }
+            String email = new String(Base64.getUrlDecoder().decode(token.substring(TOKEN_PREFIX.length())), StandardCharsets.UTF_8);
+            Instant now = Instant.now();
+            return Jwt.withTokenValue(token)
+                    .header("alg", "none")
+                    .subject(email)
+                    .claim("email", email)
+                    .issuedAt(now)
+                    .expiresAt(now.plusSeconds(3600))
+                    .build();
+        };
+    }
+
+    @Bean
+    public ScenarioStatsFilter scenarioStatsFilter() {
+        return new ScenarioStatsFilter();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ScenarioStatsFilter> scenarioStatsFilterRegistration(ScenarioStatsFilter filter) {
+        FilterRegistrationBean<ScenarioStatsFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ccc.okrtracker.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * The database under test: an embedded Postgres in a temporary directory, or an existing (throwaway)
+ * database given by --jdbc-url. Either way the schema comes from the application's own Liquibase changelog.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres embedded;
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final DataSource dataSource;
+
+    private LoadTestDatabase(EmbeddedPostgres embedded, String jdbcUrl, String user, String password) {
+        this.embedded = embedded;
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+        this.dataSource = new DriverManagerDataSource(jdbcUrl, user, password);
+    }
+
+    static LoadTestDatabase start(LoadTestOptions options) throws IOException {
+        if (options.jdbcUrl() == null) {
+            // Postgres refuses to run as root, so run the harness as a regular user or pass --jdbc-url
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            String url = postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true";
+            return new LoadTestDatabase(postgres, url, "postgres", "postgres");
+        }
+        return new LoadTestDatabase(null, options.jdbcUrl(), options.dbUser(), options.dbPassword());
+    }
+
+    /**
+     * Bring the schema to the current changelog version. An existing database must be empty unless
+     * resetSchema is set, so a load test never runs against (or writes into) real data.
+     */
+    void migrate(boolean resetSchema) throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        if (resetSchema) {
+            jdbc.execute("DROP SCHEMA public CASCADE");
+            jdbc.execute("CREATE SCHEMA public");
+        }
+        Integer existing = jdbc.queryForObject(
+                "SELECT count(*) FROM information_schema.tables WHERE table_schema = 'public' AND table_name = 'project'",
+                Integer.class);
+        if (existing != null && existing > 0 && Boolean.TRUE.equals(
+                jdbc.queryForObject("SELECT EXISTS (SELECT 1 FROM project)", Boolean.class))) {
+            throw new IllegalStateException("Database " + jdbcUrl + " already has projects; use a throwaway database or --reset-schema");
+        }
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setDefaultSchema("public");
+        liquibase.afterPropertiesSet();
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String user() {
+        return user;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+}
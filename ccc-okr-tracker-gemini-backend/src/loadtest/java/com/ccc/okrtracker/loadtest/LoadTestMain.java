@@ -0,0 +1,127 @@
+package com.ccc.okrtracker.loadtest;
+
+import com.ccc.okrtracker.OkrTrackerApplication;
+import com.ccc.okrtracker.loadtest.LoadRunner.Latencies;
+import com.ccc.okrtracker.loadtest.Scenarios.Scenario;
+import com.ccc.okrtracker.loadtest.SyntheticData.Dataset;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * End-to-end load test: database, schema, synthetic data, the application on a random port, then a warm-up
+ * and a measured run of one request mix. Prints per scenario: requests, errors, throughput, p50/p99/max
+ * latency and SQL statements per request (average and maximum).
+ *
+ * Run through the loadtest Maven profile, see docs/DEVELOPMENT.md.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // Devtools would restart the application in its own class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (LoadTestDatabase database = LoadTestDatabase.start(options)) {
+            long started = System.nanoTime();
+            database.migrate(options.resetSchema());
+            Dataset dataset = new SyntheticData(options).generate(database.dataSource());
+            System.out.printf("Generated %d projects, %d nodes, %d viewers in %d ms%n", dataset.projects(),
+                    dataset.nodeCount(), dataset.viewers().size(), (System.nanoTime() - started) / 1_000_000);
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(OkrTrackerApplication.class, LoadTestConfig.class)
+                    .profiles(profiles(options))
+                    .run("--server.port=0",
+                            "--spring.datasource.url=" + database.jdbcUrl(),
+                            "--spring.datasource.username=" + database.user(),
+                            "--spring.datasource.password=" + database.password(),
+                            "--spring.liquibase.enabled=false",
+                            // Statement counts come from the query stats; the slow request log would flood the output
+                            "--app.query-stats.enabled=true",
+                            "--app.query-stats.log-statements=0",
+                            "--app.query-stats.log-millis=0",
+                            "--app.cors.origins=http://localhost",
+                            "--logging.level.root=WARN")) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                URI base = URI.create("http://localhost:" + port);
+                List<Scenario> scenarios = new Scenarios(dataset).forMix(options.mix());
+                LoadRunner runner = new LoadRunner(base, scenarios, options.concurrency());
+                ScenarioStatsFilter stats = app.getBean(ScenarioStatsFilter.class);
+
+                if (options.warmupSeconds() > 0) {
+                    runner.run(Duration.ofSeconds(options.warmupSeconds()), options.seed() + 1);
+                }
+                stats.reset();
+                Map<String, Latencies> results = runner.run(Duration.ofSeconds(options.durationSeconds()), options.seed());
+                report(options, results, stats, app.getEnvironment());
+            }
+        }
+        // Stray non-daemon threads (HTTP client, schedulers) must not keep the Maven exec alive
+        System.exit(0);
+    }
+
+    private static String[] profiles(LoadTestOptions options) {
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        for (String profile : options.profiles().split(",")) {
+            if (!profile.isBlank()) {
+                profiles.add(profile.trim());
+            }
+        }
+        return profiles.toArray(String[]::new);
+    }
+
+    private static void report(LoadTestOptions options, Map<String, Latencies> results, ScenarioStatsFilter stats,
+                               Environment environment) throws Exception {
+        String header = String.format(Locale.ROOT, "%-46s %9s %7s %9s %9s %9s %9s %11s %9s",
+                "Scenario", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "Max ms", "Stmts/req", "Max stmts");
+        // Same condition as Spring Boot's: virtual threads need the property and Java 21
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() >= 21;
+        System.out.printf(Locale.ROOT, "%nmix=%s concurrency=%d duration=%ds projects=%d width=%d threads=%s pool=%s limiter=%s%n%s%n",
+                options.mix(), options.concurrency(), options.durationSeconds(), options.projects(), options.width(),
+                virtual ? "virtual" : "platform",
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                environment.getProperty("app.db.limiter.enabled", "false"), header);
+        StringBuilder csv = new StringBuilder("scenario,requests,errors,requests_per_second,p50_ms,p99_ms,max_ms,statements_per_request,max_statements\n");
+        long total = 0;
+        for (Map.Entry<String, Latencies> entry : results.entrySet()) {
+            Latencies latencies = entry.getValue();
+            ScenarioStatsFilter.Totals totals = stats.totals(entry.getKey());
+            double rate = (double) latencies.count() / options.durationSeconds();
+            double p50 = latencies.percentileMillis(50);
+            double p99 = latencies.percentileMillis(99);
+            double max = latencies.percentileMillis(100);
+            total += latencies.count();
+            System.out.printf(Locale.ROOT, "%-46s %9d %7d %9.1f %9.1f %9.1f %9.1f %11.1f %9d%n", entry.getKey(), latencies.count(),
+                    latencies.errors(), rate, p50, p99, max, totals.statementsPerRequest(), totals.maxStatements());
+            csv.append(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d%n", entry.getKey(), latencies.count(),
+                    latencies.errors(), rate, p50, p99, max, totals.statementsPerRequest(), totals.maxStatements()));
+        }
+        System.out.printf(Locale.ROOT, "%-46s %9d %7s %9.1f%n", "Total", total, "", (double) total / options.durationSeconds());
+        for (Map.Entry<String, Latencies> entry : results.entrySet()) {
+            if (entry.getValue().firstError() != null) {
+                System.out.println("First error for " + entry.getKey() + ": " + entry.getValue().firstError());
+            }
+        }
+        if (options.report() != null) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(options.report())))) {
+                writer.print(csv);
+            }
+            System.out.println("Report written to " + options.report());
+        }
+    }
+}
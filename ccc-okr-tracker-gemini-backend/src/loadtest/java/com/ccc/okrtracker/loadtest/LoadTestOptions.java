@@ -0,0 +1,89 @@
+package com.ccc.okrtracker.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Harness options, given as --name=value arguments (through -Dloadtest.args when run from Maven).
+ *
+ * @param jdbcUrl          Existing Postgres database to use; null starts an embedded Postgres.
+ * @param resetSchema      Drop and recreate the public schema of jdbcUrl first (never needed for embedded).
+ * @param projects         Synthetic projects to generate.
+ * @param width            Children per node, so every project has width^5 Action Items.
+ * @param viewers          Users with VIEWER access to a few projects each; reads run as these users.
+ * @param projectsPerViewer Projects assigned to each viewer.
+ * @param mix              read, mixed, write or import (see Scenarios).
+ * @param concurrency      Client threads, each sending one request at a time.
+ * @param warmupSeconds    Unrecorded run before the measurement, for JIT and connection pool warm-up.
+ * @param durationSeconds  Measured run.
+ * @param seed             Seed for both the generated data and the request sequence.
+ * @param report           Optional CSV file for the result table.
+ * @param profiles         Spring profiles to activate next to loadtest, comma separated (e.g. virtual-threads).
+ */
+record LoadTestOptions(
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        boolean resetSchema,
+        int projects,
+        int width,
+        int viewers,
+        int projectsPerViewer,
+        String mix,
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        long seed,
+        String report,
+        String profiles
+) {
+
+    private static final Set<String> KNOWN = Set.of(
+            "jdbc-url", "db-user", "db-password", "reset-schema", "projects", "width", "viewers",
+            "projects-per-viewer", "mix", "concurrency", "warmup", "duration", "seed", "report", "profiles");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq > 0 ? arg.substring(2, eq) : arg.substring(2);
+            if (!KNOWN.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + KNOWN);
+            }
+            values.put(name, eq > 0 ? arg.substring(eq + 1) : "true");
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                values.get("jdbc-url"),
+                values.getOrDefault("db-user", "postgres"),
+                values.getOrDefault("db-password", ""),
+                Boolean.parseBoolean(values.getOrDefault("reset-schema", "false")),
+                intValue(values, "projects", 20),
+                intValue(values, "width", 4),
+                intValue(values, "viewers", 50),
+                intValue(values, "projects-per-viewer", 3),
+                values.getOrDefault("mix", "mixed"),
+                intValue(values, "concurrency", 16),
+                intValue(values, "warmup", 10),
+                intValue(values, "duration", 60),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.get("report"),
+                values.getOrDefault("profiles", ""));
+        if (options.projects < 1 || options.width < 1 || options.viewers < 1 || options.concurrency < 1
+                || options.durationSeconds < 1 || options.warmupSeconds < 0) {
+            throw new IllegalArgumentException("projects, width, viewers, concurrency and duration must be positive");
+        }
+        if (options.projectsPerViewer < 1 || options.projectsPerViewer > options.projects) {
+            throw new IllegalArgumentException("projects-per-viewer must be between 1 and projects");
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ccc.okrtracker.loadtest;
+
+import com.ccc.okrtracker.monitoring.QueryStatistics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-side half of the measurement: statements executed per request, keyed by the scenario name the
+ * LoadRunner sends in SCENARIO_HEADER. Registered ahead of the application's QueryStatsFilter and reads the
+ * statistics it leaves on the request, so the user and role lookups done for every JWT are part of the count.
+ */
+final class ScenarioStatsFilter extends OncePerRequestFilter {
+
+    static final String SCENARIO_HEADER = "X-Load-Scenario";
+
+    record Totals(long requests, long statements, long maxStatements) {
+
+        double statementsPerRequest() {
+            return requests > 0 ? (double) statements / requests : 0;
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+    }
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String scenario = request.getHeader(SCENARIO_HEADER);
+        if (scenario == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = request.getAttribute(QueryStatistics.REQUEST_ATTRIBUTE) instanceof QueryStatistics stats
+                    ? stats.statements() : 0;
+            Counters c = counters.computeIfAbsent(scenario, k -> new Counters());
+            c.requests.increment();
+            c.statements.add(statements);
+            c.maxStatements.accumulate(statements);
+        }
+    }
+
+    Totals totals(String scenario) {
+        Counters c = counters.get(scenario);
+        return c == null ? new Totals(0, 0, 0) : new Totals(c.requests.sum(), c.statements.sum(), c.maxStatements.get());
+    }
+
+    void reset() {
+        counters.clear();
+    }
+}
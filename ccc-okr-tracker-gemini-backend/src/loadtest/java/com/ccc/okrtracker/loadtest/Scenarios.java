@@ -0,0 +1,184 @@
+package com.ccc.okrtracker.loadtest;
+
+import com.ccc.okrtracker.loadtest.SyntheticData.Dataset;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Request mixes over HierarchyController and ImportController. Reads run as a random viewer on one of the
+ * viewer's projects (so project access checks are exercised); writes and imports run as the administrator.
+ *
+ * - read: tree, children, filter, search, typeahead and project list.
+ * - mixed: the reads plus 20% single-node and bulk writes.
+ * - write: mostly writes, with a few tree reads.
+ * - import: CSV imports of a small new project, with tree reads alongside.
+ */
+final class Scenarios {
+
+    private static final int KEY_RESULT = 4;
+    private static final int ACTION_ITEM = 5;
+    private static final int OBJECTIVE = 3;
+    private static final String[] WORDS = {"billing", "cloud", "onboarding", "reporting", "pipeline", "security", "analytics", "platform"};
+
+    /**
+     * One kind of request; 'weight' is relative to the other scenarios of the mix.
+     */
+    record Scenario(String name, int weight, BiFunction<SplittableRandom, URI, HttpRequest> request) {
+    }
+
+    private final Dataset dataset;
+    private final AtomicLong importCounter = new AtomicLong();
+
+    Scenarios(Dataset dataset) {
+        this.dataset = dataset;
+    }
+
+    List<Scenario> forMix(String mix) {
+        List<Scenario> scenarios = new ArrayList<>();
+        switch (mix) {
+            case "read" -> addReads(scenarios, 1);
+            case "mixed" -> {
+                addReads(scenarios, 4);
+                addWrites(scenarios, 1);
+            }
+            case "write" -> {
+                addWrites(scenarios, 4);
+                scenarios.add(new Scenario("GET /hierarchy/tree?projectId", 4, this::projectTree));
+            }
+            case "import" -> {
+                scenarios.add(new Scenario("POST /import/hierarchy", 1, this::importCsv));
+                scenarios.add(new Scenario("GET /hierarchy/tree?projectId", 4, this::projectTree));
+            }
+            default -> throw new IllegalArgumentException("Unknown mix '" + mix + "', expected read, mixed, write or import");
+        }
+        return scenarios;
+    }
+
+    private void addReads(List<Scenario> scenarios, int factor) {
+        scenarios.add(new Scenario("GET /hierarchy/tree?projectId", 6 * factor, this::projectTree));
+        scenarios.add(new Scenario("GET /hierarchy/tree?depth=Objective", 2 * factor, (random, base) ->
+                get(base, "/api/hierarchy/tree?depth=Objective", viewer(random).email())));
+        scenarios.add(new Scenario("GET /hierarchy/objectives/{id}/children", 6 * factor, (random, base) -> {
+            Dataset.Viewer viewer = viewer(random);
+            long id = dataset.randomId(OBJECTIVE, project(viewer, random), random);
+            return get(base, "/api/hierarchy/objectives/" + id + "/children", viewer.email());
+        }));
+        scenarios.add(new Scenario("GET /hierarchy/filter?assignee", 2 * factor, (random, base) -> {
+            Dataset.Viewer viewer = viewer(random);
+            return get(base, "/api/hierarchy/filter?assignee=" + viewer.login() + "&projectId=" + project(viewer, random), viewer.email());
+        }));
+        scenarios.add(new Scenario("GET /hierarchy/search?q", 2 * factor, (random, base) ->
+                get(base, "/api/hierarchy/search?q=" + encode(word(random) + " " + word(random)), viewer(random).email())));
+        scenarios.add(new Scenario("GET /hierarchy/typeahead?q", 6 * factor, (random, base) ->
+                get(base, "/api/hierarchy/typeahead?q=" + word(random).substring(0, 3), viewer(random).email())));
+        scenarios.add(new Scenario("GET /hierarchy/projects", factor, (random, base) ->
+                get(base, "/api/hierarchy/projects", viewer(random).email())));
+    }
+
+    private void addWrites(List<Scenario> scenarios, int factor) {
+        scenarios.add(new Scenario("PUT /hierarchy/action-items/{id}", 3 * factor, (random, base) -> {
+            long id = dataset.randomId(ACTION_ITEM, randomProject(random), random);
+            return put(base, "/api/hierarchy/action-items/" + id, "{\"isCompleted\":" + random.nextBoolean() + "}");
+        }));
+        scenarios.add(new Scenario("PUT /hierarchy/key-results/{id}", factor, (random, base) -> {
+            long id = dataset.randomId(KEY_RESULT, randomProject(random), random);
+            return put(base, "/api/hierarchy/key-results/" + id, "{\"assignee\":\"" + viewer(random).login() + "\"}");
+        }));
+        scenarios.add(new Scenario("POST /hierarchy/key-results/{id}/action-items", factor, (random, base) -> {
+            long id = dataset.randomId(KEY_RESULT, randomProject(random), random);
+            String body = "{\"title\":\"Load test item\",\"assignee\":\"" + viewer(random).login() + "\",\"isActive\":true}";
+            return request(base, "/api/hierarchy/key-results/" + id + "/action-items", SyntheticData.ADMIN_EMAIL)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }));
+        scenarios.add(new Scenario("PUT /hierarchy/bulk", factor, (random, base) -> {
+            long projectId = randomProject(random);
+            StringBuilder body = new StringBuilder("{\"updates\":[");
+            for (int i = 0; i < 10; i++) {
+                if (i > 0) body.append(',');
+                body.append("{\"type\":\"ActionItem\",\"id\":").append(dataset.randomId(ACTION_ITEM, projectId, random))
+                        .append(",\"progress\":").append(random.nextInt(101)).append('}');
+            }
+            return put(base, "/api/hierarchy/bulk", body.append("]}").toString());
+        }));
+    }
+
+    private HttpRequest projectTree(SplittableRandom random, URI base) {
+        Dataset.Viewer viewer = viewer(random);
+        return get(base, "/api/hierarchy/tree?projectId=" + project(viewer, random), viewer.email());
+    }
+
+    /**
+     * A new project per request in ImportController's 21-column format, width^2 Action Items deep.
+     */
+    private HttpRequest importCsv(SplittableRandom random, URI base) {
+        String project = "Imported project " + importCounter.incrementAndGet();
+        StringBuilder csv = new StringBuilder("Project Title,Project Description,Initiative Title,Initiative Description,"
+                + "Goal Title,Goal Description,Objective Title,Objective Description,Objective Assignee,Objective Year,"
+                + "Objective Quarter,Objective Due Date,KR Title,KR Description,KR Assignee,KR Due Date,Action Item Title,"
+                + "Action Item Description,Action Item Assignee,Action Item Due Date,Action Item Is Completed\n");
+        for (int o = 0; o < dataset.width(); o++) {
+            for (int a = 0; a < dataset.width(); a++) {
+                String assignee = viewer(random).login();
+                csv.append(project).append(",Load test import,Initiative,,Goal,,Objective ").append(o)
+                        .append(",,").append(assignee).append(",2025,Q").append(o % 4 + 1).append(",2025-12-31,Key result ")
+                        .append(o).append(",,").append(assignee).append(",2025-12-31,Action ").append(o).append('.').append(a)
+                        .append(",,").append(assignee).append(",2025-12-31,").append(random.nextBoolean()).append('\n');
+            }
+        }
+        String boundary = "loadtest" + random.nextLong();
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"import.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv + "\r\n--" + boundary + "--\r\n";
+        return request(base, "/api/import/hierarchy", SyntheticData.ADMIN_EMAIL)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Dataset.Viewer viewer(SplittableRandom random) {
+        return dataset.viewers().get(random.nextInt(dataset.viewers().size()));
+    }
+
+    private static long project(Dataset.Viewer viewer, SplittableRandom random) {
+        return viewer.projectIds().get(random.nextInt(viewer.projectIds().size()));
+    }
+
+    private long randomProject(SplittableRandom random) {
+        return dataset.projectId(random.nextInt(dataset.projects()));
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static HttpRequest get(URI base, String path, String email) {
+        return request(base, path, email).GET().build();
+    }
+
+    private static HttpRequest put(URI base, String path, String json) {
+        return request(base, path, SyntheticData.ADMIN_EMAIL)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest.Builder request(URI base, String path, String email) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Authorization", "Bearer " + LoadTestConfig.token(email));
+    }
+}
@@ -0,0 +1,292 @@
+package com.ccc.okrtracker.loadtest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic hierarchy, users and project assignments written straight over JDBC.
+ *
+ * Every project has 'width' children per node down to Action Items, with explicit ids laid out per project
+ * (see Dataset), so scenarios can pick nodes of a given project without querying. Progress is rolled up
+ * while generating, so the data is consistent before the first recalculation.
+ */
+final class SyntheticData {
+
+    static final String ADMIN_EMAIL = "admin@loadtest.local";
+
+    private static final String[] VERBS = {"Improve", "Reduce", "Launch", "Migrate", "Automate", "Expand", "Harden", "Simplify"};
+    private static final String[] NOUNS = {"billing", "cloud", "onboarding", "reporting", "pipeline", "support", "security",
+            "analytics", "checkout", "platform", "mobile", "search", "inventory", "partner", "pricing", "network"};
+    private static final String[] QUARTERS = {"Q1", "Q2", "Q3", "Q4"};
+    private static final int YEAR = 2025;
+
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    SyntheticData(LoadTestOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    Dataset generate(DataSource dataSource) throws SQLException {
+        Dataset dataset = Dataset.of(options, random);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            insertUsers(connection, dataset);
+            connection.commit();
+            for (int p = 0; p < options.projects(); p++) {
+                insertProject(connection, dataset, p);
+                connection.commit();
+            }
+            insertAssignments(connection, dataset);
+            try (Statement statement = connection.createStatement()) {
+                for (String table : new String[]{"project", "strategic_initiative", "goal", "objective", "key_result",
+                        "action_item", "app_users", "role"}) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(SELECT COALESCE(max(id), 0) + 1 FROM " + table + "), false)");
+                }
+            }
+            connection.commit();
+        }
+        return dataset;
+    }
+
+    private void insertUsers(Connection connection, Dataset dataset) throws SQLException {
+        try (PreparedStatement role = connection.prepareStatement(
+                "INSERT INTO role (id, name, description, is_system, is_active, created_by, created_date) VALUES (?, ?, ?, ?, true, 'loadtest', ?)");
+             PreparedStatement permission = connection.prepareStatement(
+                     "INSERT INTO role_permissions (role_id, permission) VALUES (?, ?)");
+             PreparedStatement user = connection.prepareStatement(
+                     "INSERT INTO app_users (id, first_name, last_name, email, login, is_active, created_by, created_date) "
+                             + "VALUES (?, ?, ?, ?, ?, true, 'loadtest', ?)");
+             PreparedStatement userRole = connection.prepareStatement(
+                     "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            Timestamp created = Timestamp.valueOf(now);
+            addRole(role, 1, "System Administrator", true, created);
+            addRole(role, 2, "Strategy Viewer", false, created);
+            role.executeBatch();
+            // System Administrators get their authorities implicitly, but project access still needs VIEW_ALL_PROJECTS
+            addPermission(permission, 1, "VIEW_ALL_PROJECTS");
+            addPermission(permission, 2, "VIEW_STRATEGY");
+            permission.executeBatch();
+
+            addUser(user, 1, "Load", "Admin", ADMIN_EMAIL, "loadadmin", created);
+            userRole.setLong(1, 1);
+            userRole.setLong(2, 1);
+            userRole.addBatch();
+            for (int v = 0; v < dataset.viewers().size(); v++) {
+                Dataset.Viewer viewer = dataset.viewers().get(v);
+                long userId = v + 2;
+                addUser(user, userId, "Viewer", String.valueOf(v + 1), viewer.email(), viewer.login(), created);
+                userRole.setLong(1, userId);
+                userRole.setLong(2, 2);
+                userRole.addBatch();
+            }
+            user.executeBatch();
+            userRole.executeBatch();
+        }
+    }
+
+    // Viewer ids follow the admin (1) in viewer order
+    private void insertAssignments(Connection connection, Dataset dataset) throws SQLException {
+        try (PreparedStatement userProject = connection.prepareStatement(
+                "INSERT INTO user_projects (user_id, project_id, access_level, assigned_date, assigned_by) "
+                        + "VALUES (?, ?, 'VIEWER', ?, 'loadtest')")) {
+            Timestamp created = Timestamp.valueOf(now);
+            for (int v = 0; v < dataset.viewers().size(); v++) {
+                for (long projectId : dataset.viewers().get(v).projectIds()) {
+                    userProject.setLong(1, v + 2);
+                    userProject.setLong(2, projectId);
+                    userProject.setTimestamp(3, created);
+                    userProject.addBatch();
+                }
+            }
+            userProject.executeBatch();
+        }
+    }
+
+    private static void addRole(PreparedStatement role, long id, String name, boolean system, Timestamp created) throws SQLException {
+        role.setLong(1, id);
+        role.setString(2, name);
+        role.setString(3, "Generated by the load test harness");
+        role.setBoolean(4, system);
+        role.setTimestamp(5, created);
+        role.addBatch();
+    }
+
+    private static void addPermission(PreparedStatement permission, long roleId, String name) throws SQLException {
+        permission.setLong(1, roleId);
+        permission.setString(2, name);
+        permission.addBatch();
+    }
+
+    private static void addUser(PreparedStatement user, long id, String first, String last, String email, String login,
+                                Timestamp created) throws SQLException {
+        user.setLong(1, id);
+        user.setString(2, first);
+        user.setString(3, last);
+        user.setString(4, email);
+        user.setString(5, login);
+        user.setTimestamp(6, created);
+        user.addBatch();
+    }
+
+    /**
+     * One project's rows, collected per level and inserted top-down so foreign keys hold.
+     */
+    private void insertProject(Connection connection, Dataset dataset, int projectIndex) throws SQLException {
+        List<List<Object[]>> rows = new ArrayList<>();
+        for (int level = 0; level < Dataset.LEVELS; level++) {
+            rows.add(new ArrayList<>());
+        }
+        long projectId = dataset.projectId(projectIndex);
+        int progress = generate(dataset, rows, projectIndex, 0, 0, projectId);
+        rows.get(0).add(new Object[]{projectId, "Project " + (projectIndex + 1) + " " + title(), description(), progress});
+
+        String[] inserts = {
+                "INSERT INTO project (id, title, description, progress, is_active, created_by, created_date) VALUES (?, ?, ?, ?, true, 'loadtest', ?)",
+                "INSERT INTO strategic_initiative (id, title, description, progress, project_id, is_active, created_by, created_date) VALUES (?, ?, ?, ?, ?, true, 'loadtest', ?)",
+                "INSERT INTO goal (id, title, description, progress, initiative_id, project_id, is_active, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, true, 'loadtest', ?)",
+                "INSERT INTO objective (id, title, description, progress, goal_id, project_id, assignee, year, quarter, due_date, is_active, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, 'loadtest', ?)",
+                "INSERT INTO key_result (id, title, description, progress, objective_id, project_id, assignee, due_date, manual_progress_set, is_active, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false, true, 'loadtest', ?)",
+                "INSERT INTO action_item (id, title, description, progress, key_result_id, project_id, assignee, due_date, is_completed, is_active, created_by, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'loadtest', ?)"
+        };
+        Timestamp created = Timestamp.valueOf(now);
+        for (int level = 0; level < Dataset.LEVELS; level++) {
+            try (PreparedStatement statement = connection.prepareStatement(inserts[level])) {
+                int batched = 0;
+                for (Object[] row : rows.get(level)) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.setTimestamp(row.length + 1, created);
+                    statement.addBatch();
+                    if (++batched % 1000 == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Generate the children of one node (above Action Items) and return its rolled-up progress.
+     *
+     * @param index Index of the node within its level of the project.
+     */
+    private int generate(Dataset dataset, List<List<Object[]>> rows, int projectIndex, int level, int index, long id) {
+        int childLevel = level + 1;
+        long projectId = dataset.projectId(projectIndex);
+        int total = 0;
+        int active = 0;
+        for (int c = 0; c < options.width(); c++) {
+            int childIndex = index * options.width() + c;
+            long childId = dataset.id(childLevel, projectIndex, childIndex);
+            String title = title() + " " + childId;
+            String assignee = dataset.viewers().get(random.nextInt(dataset.viewers().size())).login();
+            int quarter = (childIndex / Math.max(1, options.width())) % QUARTERS.length;
+            LocalDate due = LocalDate.of(YEAR, quarter * 3 + 1, 1).plusDays(random.nextInt(90));
+            if (childLevel == Dataset.LEVELS - 1) {
+                boolean done = random.nextInt(3) == 0;
+                boolean isActive = random.nextInt(20) != 0;
+                int progress = done ? 100 : 0;
+                rows.get(childLevel).add(new Object[]{childId, title, description(), progress, id, projectId, assignee,
+                        Date.valueOf(due), done, isActive});
+                if (isActive) {
+                    total += progress;
+                    active++;
+                }
+                continue;
+            }
+            int progress = generate(dataset, rows, projectIndex, childLevel, childIndex, childId);
+            total += progress;
+            active++;
+            rows.get(childLevel).add(switch (childLevel) {
+                case 1 -> new Object[]{childId, title, description(), progress, projectId};
+                case 2 -> new Object[]{childId, title, description(), progress, id, projectId};
+                case 3 -> new Object[]{childId, title, description(), progress, id, projectId, assignee, YEAR,
+                        QUARTERS[quarter], Date.valueOf(LocalDate.of(YEAR, quarter * 3 + 3, 1).plusMonths(1).minusDays(1))};
+                default -> new Object[]{childId, title, description(), progress, id, projectId, assignee, Date.valueOf(due)};
+            });
+        }
+        if (active == 0) {
+            return 0;
+        }
+        return level == Dataset.LEVELS - 2 ? (int) Math.round((double) total / active) : Math.round((float) total / active);
+    }
+
+    private String title() {
+        return VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    private String description() {
+        return "Synthetic " + NOUNS[random.nextInt(NOUNS.length)] + " work for " + NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    /**
+     * Layout of the generated data. Ids are dense per level: node k (0-based, breadth-first within its project)
+     * at a level with n nodes per project has id projectIndex * n + k + 1.
+     */
+    record Dataset(int projects, int width, List<Viewer> viewers) {
+
+        static final int LEVELS = 6;
+
+        record Viewer(String email, String login, List<Long> projectIds) {
+        }
+
+        static Dataset of(LoadTestOptions options, SplittableRandom random) {
+            List<Viewer> viewers = new ArrayList<>();
+            for (int v = 0; v < options.viewers(); v++) {
+                List<Long> projectIds = new ArrayList<>();
+                while (projectIds.size() < options.projectsPerViewer()) {
+                    long projectId = random.nextInt(options.projects()) + 1;
+                    if (!projectIds.contains(projectId)) {
+                        projectIds.add(projectId);
+                    }
+                }
+                viewers.add(new Viewer("viewer" + (v + 1) + "@loadtest.local", "viewer" + (v + 1), projectIds));
+            }
+            return new Dataset(options.projects(), options.width(), viewers);
+        }
+
+        int nodesPerProject(int level) {
+            int count = 1;
+            for (int l = 0; l < level; l++) {
+                count *= width;
+            }
+            return count;
+        }
+
+        long projectId(int projectIndex) {
+            return projectIndex + 1;
+        }
+
+        long id(int level, int projectIndex, int index) {
+            return (long) projectIndex * nodesPerProject(level) + index + 1;
+        }
+
+        long randomId(int level, long projectId, SplittableRandom random) {
+            return id(level, (int) projectId - 1, random.nextInt(nodesPerProject(level)));
+        }
+
+        long nodeCount() {
+            long count = 0;
+            for (int level = 0; level < LEVELS; level++) {
+                count += (long) projects * nodesPerProject(level);
+            }
+            return count;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.ccc.okrtracker;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing // Enables automatic audit fields
+@EnableScheduling // Progress history partition maintenance
 public class OkrTrackerApplication {
     public static void main(String[] args) {
         SpringApplication.run(OkrTrackerApplication.class, args);
@@ -0,0 +1,122 @@
+package com.ccc.okrtracker.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource wrapper admitting at most 'permits' open connections at a time (normally the pool size); further
+ * callers wait in FIFO order on a fair semaphore, up to timeoutMillis, before they reach the pool. A permit is
+ * returned when the connection is closed.
+ *
+ * With virtual threads there is no request thread limit any more, so thousands of requests can ask the pool for
+ * a connection at once. Queueing them here keeps the pool's own hand-off uncontended and turns overload into
+ * measurable wait time (okr.db.limiter.wait, okr.db.limiter.waiting) instead of pool timeouts.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore semaphore;
+    private final long timeoutMillis;
+    private volatile Timer waitTimer;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int permits, long timeoutMillis) {
+        super(target);
+        this.semaphore = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("okr.db.limiter.wait")
+                .description("Time spent waiting for a database connection permit when none was free")
+                .register(registry);
+        Gauge.builder("okr.db.limiter.waiting", semaphore, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .register(registry);
+        Gauge.builder("okr.db.limiter.available", semaphore, Semaphore::availablePermits)
+                .description("Database connection permits not in use")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrapConnection(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrapConnection(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            // The timed tryAcquire honours fairness even with no timeout; the untimed one would jump the queue
+            if (semaphore.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            long started = System.nanoTime();
+            try {
+                if (!semaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("No database connection permit within " + timeoutMillis
+                            + " ms (" + semaphore.getQueueLength() + " waiting)");
+                }
+            } finally {
+                Timer timer = waitTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        }
+    }
+
+    private Connection wrapConnection(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("close")) {
+                try {
+                    target.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        semaphore.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(ConcurrencyLimitedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ccc.okrtracker.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Database concurrency limiter (see ConcurrencyLimitedDataSource), enabled with app.db.limiter.enabled=true,
+ * which the virtual-threads profile does. Permits default to the Hikari pool size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.limiter.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            @Value("${app.db.limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${app.db.limiter.timeout-millis:10000}") long timeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                        ? new ConcurrencyLimitedDataSource(dataSource, permits, timeoutMillis)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(ConcurrencyLimitedDataSource.class).bindTo(registry);
+            } catch (SQLException e) {
+                // Not wrapped (e.g. a DataSource created outside the context): nothing to report
+            }
+        };
+    }
+}
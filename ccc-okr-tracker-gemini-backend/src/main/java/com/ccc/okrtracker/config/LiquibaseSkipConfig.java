@@ -0,0 +1,145 @@
+package com.ccc.okrtracker.config;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * Skips the Liquibase run at startup when the changelog is unchanged since the last successful run
+ * (app.liquibase.skip-when-unchanged=true, enabled by the fast-startup profile).
+ *
+ * After a run, the latest DATABASECHANGELOG row is tagged with a fingerprint of all changelog files. On the
+ * next start the fingerprint is compared with that tag before Liquibase parses the changelog, takes its lock
+ * and validates every change set; if they match there is nothing to apply. Any new or edited changelog file
+ * changes the fingerprint, and a change set applied by hand leaves a newer, untagged row, so Liquibase runs
+ * normally in both cases.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.liquibase.skip-when-unchanged", havingValue = "true")
+public class LiquibaseSkipConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiquibaseSkipConfig.class);
+
+    private static final String TAG_PREFIX = "okr-changelog-";
+
+    @Bean
+    public static BeanPostProcessor liquibaseSkipWhenUnchanged() {
+        return new BeanPostProcessor() {
+            private String pendingTag;
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase) {
+                    String tag = TAG_PREFIX + fingerprint(liquibase.getChangeLog());
+                    if (tag.equals(latestTag(liquibase))) {
+                        logger.info("Liquibase skipped: changelog unchanged since the last run ({})", tag);
+                        liquibase.setShouldRun(false);
+                    } else {
+                        pendingTag = tag;
+                    }
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase && pendingTag != null) {
+                    tagLatest(liquibase, pendingTag);
+                    pendingTag = null;
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Migrations must run at startup, not when a lazily initialized bean first needs the database.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerLiquibase() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SpringLiquibase.class);
+    }
+
+    // SHA-256 over the paths and contents of every file next to and below the master changelog
+    private static String fingerprint(String changeLog) {
+        String location = changeLog.startsWith("classpath:") ? changeLog.substring("classpath:".length()) : changeLog;
+        String directory = location.contains("/") ? location.substring(0, location.lastIndexOf('/')) : "";
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + directory + "/**/*.*");
+            Arrays.sort(resources, Comparator.comparing((Resource resource) -> relativePath(resource, directory)));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource resource : resources) {
+                digest.update(relativePath(resource, directory).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint Liquibase changelog " + changeLog, e);
+        }
+    }
+
+    private static String relativePath(Resource resource, String directory) {
+        try {
+            String uri = resource.getURI().toString();
+            int index = uri.lastIndexOf(directory + "/");
+            return index >= 0 ? uri.substring(index) : resource.getFilename();
+        } catch (IOException e) {
+            return String.valueOf(resource.getFilename());
+        }
+    }
+
+    private static String table(SpringLiquibase liquibase) {
+        String table = liquibase.getDatabaseChangeLogTable() != null ? liquibase.getDatabaseChangeLogTable() : "databasechangelog";
+        String schema = liquibase.getLiquibaseSchema() != null ? liquibase.getLiquibaseSchema() : liquibase.getDefaultSchema();
+        return schema != null ? schema + "." + table : table;
+    }
+
+    private static String latestTag(SpringLiquibase liquibase) {
+        DataSource dataSource = liquibase.getDataSource();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT tag FROM " + table(liquibase) + " ORDER BY orderexecuted DESC LIMIT 1");
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            // No changelog table yet: a fresh database
+            return null;
+        }
+    }
+
+    private static void tagLatest(SpringLiquibase liquibase, String tag) {
+        String table = table(liquibase);
+        try (Connection connection = liquibase.getDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE " + table + " SET tag = ?"
+                     + " WHERE orderexecuted = (SELECT max(orderexecuted) FROM " + table + ")")) {
+            statement.setString(1, tag);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.warn("Could not tag the Liquibase changelog table, the next start runs Liquibase again: {}", e.getMessage());
+        }
+    }
+}
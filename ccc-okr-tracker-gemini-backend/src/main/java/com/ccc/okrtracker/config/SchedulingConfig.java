@@ -0,0 +1,36 @@
+package com.ccc.okrtracker.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ClassUtils;
+
+import java.util.Set;
+
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * Scheduled methods are only registered when their bean is created. With spring.main.lazy-initialization
+     * (fast-startup profile) a bean that is only injected into a controller would not exist until its first
+     * request, and its jobs (e.g. the nightly progress snapshot) would never run; keep such beans eager.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerScheduledBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethods(beanType);
+    }
+
+    // Same lookup as ScheduledAnnotationBeanPostProcessor
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                (MethodIntrospector.MetadataLookup<Set<Scheduled>>) method -> {
+                    Set<Scheduled> scheduled = AnnotatedElementUtils.getMergedRepeatableAnnotations(
+                            method, Scheduled.class, Schedules.class);
+                    return scheduled.isEmpty() ? null : scheduled;
+                }).isEmpty();
+    }
+}
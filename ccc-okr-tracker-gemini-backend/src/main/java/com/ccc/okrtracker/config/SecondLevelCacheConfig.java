@@ -0,0 +1,74 @@
+package com.ccc.okrtracker.config;
+
+import com.ccc.okrtracker.service.EntityCacheInvalidator;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the entities read on nearly every request: users with their roles, roles
+ * with their permissions, and the email/login lookups of UserRepository (query cache).
+ *
+ * Regions are Caffeine caches behind JCache, bounded by app.cache.l2.max-entries and expiring after
+ * app.cache.l2.ttl-minutes as a safety net for rows changed outside the application. Changes made through
+ * Hibernate on another node are evicted by EntityCacheInvalidator. Switch the cache off with
+ * L2_CACHE_ENABLED=false.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USER_REGION = "okr.user";
+    public static final String USER_ROLES_REGION = "okr.user.roles";
+    public static final String ROLE_REGION = "okr.role";
+    public static final String ROLE_PERMISSIONS_REGION = "okr.role.permissions";
+    public static final String USER_LOOKUP_REGION = "okr.user-lookup";
+
+    private static final List<String> REGIONS =
+            List.of(USER_REGION, USER_ROLES_REGION, ROLE_REGION, ROLE_PERMISSIONS_REGION, USER_LOOKUP_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry registry,
+                                              @Value("${app.cache.l2.max-entries:10000}") long maxEntries,
+                                              @Value("${app.cache.l2.ttl-minutes:30}") long ttlMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(registry, cache);
+        }
+        // Hibernate creates its update-timestamps region itself; it must stay unbounded
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * The invalidator is not referenced by other beans; with lazy initialization it would never subscribe.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerEntityCacheInvalidator() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityCacheInvalidator.class);
+    }
+}
@@ -5,6 +5,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity; // NEW IMPORT
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -12,6 +15,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter; // NEW IMPORT
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -30,6 +34,9 @@ public class SecurityConfig {
     @Value("${app.cors.origins}")
     private String allowedOrigins;
 
+    @Value("${app.actuator.prometheus-public:false}")
+    private boolean prometheusPublic;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -42,7 +49,9 @@ public class SecurityConfig {
                         
                         // Public endpoints (authentication and health checks)
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/actuator/health").permitAll() // Optional: for health monitoring
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll() // Health, liveness and readiness probes
+                        .requestMatchers("/actuator/prometheus").access(prometheusAccess())
+                        .requestMatchers("/actuator/**").hasAuthority("MANAGE_USERS")
                         
                         // Admin endpoints require authentication + method-level @PreAuthorize checks
                         .requestMatchers("/api/admin/**").authenticated()
@@ -60,6 +69,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Prometheus scrapers usually cannot fetch a Keycloak token; opening the endpoint is a deployment decision
+    private AuthorizationManager<RequestAuthorizationContext> prometheusAccess() {
+        return prometheusPublic
+                ? (authentication, context) -> new AuthorizationDecision(true)
+                : AuthorityAuthorizationManager.hasAuthority("MANAGE_USERS");
+    }
+
     /**
      * Defines the JWT converter to map JWT claims (specifically email) to application-level roles/permissions.
      */
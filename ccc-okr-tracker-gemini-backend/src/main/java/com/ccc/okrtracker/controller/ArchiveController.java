@@ -1,42 +1,52 @@
 package com.ccc.okrtracker.controller;
 
-import com.ccc.okrtracker.entity.Project;
-import com.ccc.okrtracker.repository.ProjectRepository;
+import com.ccc.okrtracker.dto.ArchivedItem;
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.service.ArchiveService;
+import com.ccc.okrtracker.service.HierarchyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/archive")
 @RequiredArgsConstructor
 public class ArchiveController {
 
-    private final ProjectRepository projectRepo;
-    // Inject other repos...
+    private final ArchiveService archiveService;
+    private final HierarchyService hierarchyService;
 
+    // All archived items of every level, newest first (used by the Recycle Bin dialog)
     @GetMapping
     @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
-    public List<Object> getArchivedItems() {
-        // In a real scenario, you might create a specific DTO View or a Custom Query
-        // For simplicity, we filter in memory here, but ideally use JPQL "WHERE isActive = false"
-        List<Project> archivedProjects = projectRepo.findAll().stream()
-                .filter(p -> !p.getIsActive()).collect(Collectors.toList());
+    public List<ArchivedItem> getArchivedItems() {
+        return archiveService.getAllArchived();
+    }
 
-        // Combine with other entities...
-        return new java.util.ArrayList<>(archivedProjects);
+    /**
+     * GET /api/archive/items?type=Objective&type=KeyResult&projectId=1&after=...&limit=50
+     * Keyset page of archived items, newest first. Pass nextCursor back as 'after' to load more.
+     */
+    @GetMapping("/items")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public KeysetPage<ArchivedItem> getArchivedPage(
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return archiveService.getArchivedPage(type, projectId, after, limit);
     }
 
+    /**
+     * POST /api/archive/restore/{type}/{id} — Restore an archived item of any level
+     * together with the descendants that were archived with it.
+     */
     @PostMapping("/restore/{type}/{id}")
     @PreAuthorize("hasAuthority('MANAGE_STRATEGY')")
     public void restoreItem(@PathVariable String type, @PathVariable Long id) {
-        if(type.equals("Project")) {
-            Project p = projectRepo.findById(id).orElseThrow();
-            p.restore();
-            projectRepo.save(p);
-        }
-        // Handle other types
+        hierarchyService.restoreItem(HierarchyLevel.fromType(type), id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package com.ccc.okrtracker.controller;
+
+import com.ccc.okrtracker.dto.DashboardSummary;
+import com.ccc.okrtracker.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // Portfolio aggregates for the dashboard, e.g. GET /api/dashboard/summary?projectId=1&projectId=2
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<DashboardSummary> getSummary(@RequestParam(required = false) List<Long> projectId) {
+        return ResponseEntity.ok(dashboardService.getSummary(projectId));
+    }
+}
@@ -1,12 +1,27 @@
 package com.ccc.okrtracker.controller;
 
+import com.ccc.okrtracker.dto.BulkUpdateRequest;
+import com.ccc.okrtracker.dto.BulkUpdateResult;
+import com.ccc.okrtracker.dto.HierarchyFilter;
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.dto.ProgressSeries;
+import com.ccc.okrtracker.dto.SearchHit;
+import com.ccc.okrtracker.dto.SubtreeCloneRequest;
+import com.ccc.okrtracker.dto.SubtreeCloneResult;
+import com.ccc.okrtracker.dto.TitleMatch;
 import com.ccc.okrtracker.entity.*;
+import com.ccc.okrtracker.service.HierarchyReadService;
 import com.ccc.okrtracker.service.HierarchyService;
+import com.ccc.okrtracker.service.ProgressHistoryService;
+import com.ccc.okrtracker.service.SearchService;
+import com.ccc.okrtracker.service.TitleIndexService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,6 +30,10 @@ import java.util.List;
 public class HierarchyController {
 
     private final HierarchyService hierarchyService;
+    private final HierarchyReadService hierarchyReadService;
+    private final SearchService searchService;
+    private final TitleIndexService titleIndexService;
+    private final ProgressHistoryService progressHistoryService;
 
     // --- GET ---
 
@@ -24,6 +43,72 @@ public class HierarchyController {
         return ResponseEntity.ok(hierarchyService.getAllProjects());
     }
 
+    // Lightweight read model: flat projection nodes linked into trees, one query per level.
+    // 'depth' cuts the tree at a level (e.g. Objective); the deepest nodes carry childCount instead of children.
+    @GetMapping("/tree")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<HierarchyNode>> getProjectTrees(
+            @RequestParam(required = false, defaultValue = "ActionItem") String depth,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive) {
+        HierarchyLevel level = HierarchyLevel.fromType(depth);
+        return ResponseEntity.ok(hierarchyReadService.getProjectTrees(level, projectId, includeInactive));
+    }
+
+    // Server-side filter for My Objectives / Hierarchy views: only matching subtrees plus their ancestors,
+    // e.g. GET /api/hierarchy/filter?assignee=jdoe&year=2025&quarter=Q1
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<HierarchyNode>> filterTrees(@ModelAttribute HierarchyFilter filter) {
+        return ResponseEntity.ok(hierarchyReadService.filterTrees(filter));
+    }
+
+    // Full-text search over titles and descriptions of every level, with breadcrumbs,
+    // e.g. GET /api/hierarchy/search?q=cloud migr&type=Objective&limit=20
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, type, projectId, limit));
+    }
+
+    // Title typeahead served from the in-memory title index, e.g. GET /api/hierarchy/typeahead?q=clo&limit=10
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<TitleMatch>> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(titleIndexService.search(q, type, limit));
+    }
+
+    // On-demand expansion for depth-limited trees, e.g. GET /api/hierarchy/objectives/12/children
+    @GetMapping("/{type}/{id}/children")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<HierarchyNode>> getChildren(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "false") boolean includeInactive) {
+        HierarchyLevel level = HierarchyLevel.fromType(type);
+        return ResponseEntity.ok(hierarchyReadService.getChildren(level, id, includeInactive));
+    }
+
+    // Downsampled progress history, e.g. GET /api/hierarchy/objectives/12/progress-history?bucket=week&from=2025-01-01
+    @GetMapping("/{type}/{id}/progress-history")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<ProgressSeries> getProgressHistory(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        HierarchyLevel level = HierarchyLevel.fromType(type);
+        return ResponseEntity.ok(progressHistoryService.getSeries(level, id, ProgressHistoryService.Bucket.fromValue(bucket), from, to));
+    }
+
     // --- POST (Create) ---
 
     @PostMapping("/projects")
@@ -100,4 +185,21 @@ public class HierarchyController {
     public ResponseEntity<ActionItem> updateActionItem(@PathVariable Long id, @RequestBody ActionItem ai) {
         return ResponseEntity.ok(hierarchyService.updateActionItem(id, ai));
     }
-}
\ No newline at end of file
+
+    // Many Key Result / Action Item partial updates in one transaction, one rollup per affected project
+    @PutMapping("/bulk")
+    @PreAuthorize("hasAuthority('MANAGE_STRATEGY')")
+    public ResponseEntity<BulkUpdateResult> bulkUpdate(@RequestBody BulkUpdateRequest request) {
+        return ResponseEntity.ok(hierarchyService.bulkUpdate(request));
+    }
+
+    // Deep copy of a Goal or Objective subtree, e.g. POST /api/hierarchy/objectives/5/clone {"year":2025,"quarter":"Q3"}
+    @PostMapping("/{type}/{id}/clone")
+    @PreAuthorize("hasAuthority('MANAGE_STRATEGY')")
+    public ResponseEntity<SubtreeCloneResult> cloneSubtree(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestBody(required = false) SubtreeCloneRequest request) {
+        return ResponseEntity.ok(hierarchyService.cloneSubtree(HierarchyLevel.fromType(type), id, request));
+    }
+}
@@ -1,6 +1,7 @@
 package com.ccc.okrtracker.controller;
 
 import com.ccc.okrtracker.dto.HierarchyImportRow;
+import com.ccc.okrtracker.monitoring.OkrMetrics;
 import com.ccc.okrtracker.service.ImportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -27,13 +28,14 @@ import org.apache.commons.csv.CSVRecord;
 public class ImportController {
 
     private final ImportService importService;
+    private final OkrMetrics metrics;
     // Primary date format for internal consistency (ISO standard)
     private static final DateTimeFormatter ISO_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     // Secondary, more flexible format to handle common user input (US standard)
     private static final DateTimeFormatter US_DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy");
 
-    // Define the expected CSV headers in order
-    private static final String[] CSV_HEADERS = {
+    // Define the expected CSV headers in order (also written by the synthetic dataset generator)
+    public static final String[] CSV_HEADERS = {
             "Project Title", "Project Description",
             "Initiative Title", "Initiative Description",
             "Goal Title", "Goal Description",
@@ -51,7 +53,9 @@ public class ImportController {
 
         try {
             List<HierarchyImportRow> rows = parseCsv(file);
+            long started = System.nanoTime();
             importService.importHierarchy(rows);
+            metrics.recordImport(rows.size(), System.nanoTime() - started);
             return ResponseEntity.ok("Hierarchy imported successfully. Total records processed: " + rows.size());
         } catch (Exception e) {
             // Log the detailed exception
@@ -0,0 +1,52 @@
+package com.ccc.okrtracker.controller;
+
+import com.ccc.okrtracker.dto.ProgressSnapshotDiff;
+import com.ccc.okrtracker.dto.ProgressSnapshotInfo;
+import com.ccc.okrtracker.service.ProgressSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/progress-snapshots")
+@RequiredArgsConstructor
+public class ProgressSnapshotController {
+
+    private final ProgressSnapshotService snapshotService;
+
+    // Available snapshot dates, newest first, e.g. GET /api/progress-snapshots?from=2025-01-01
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<List<ProgressSnapshotInfo>> getSnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(snapshotService.getSnapshots(from, to));
+    }
+
+    // Takes today's snapshot now instead of waiting for the nightly job
+    @PostMapping
+    @PreAuthorize("hasAuthority('MANAGE_STRATEGY')")
+    public ResponseEntity<ProgressSnapshotInfo> captureSnapshot() {
+        return ResponseEntity.ok(snapshotService.captureNow());
+    }
+
+    /**
+     * GET /api/progress-snapshots/diff?from=2025-01-01&to=2025-03-31&projectIds=1&type=Objective&limit=500
+     * Nodes whose progress moved between two snapshot dates, largest movement first.
+     */
+    @GetMapping("/diff")
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<ProgressSnapshotDiff> diff(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> projectIds,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(snapshotService.diff(from, to, projectIds, type, limit));
+    }
+}
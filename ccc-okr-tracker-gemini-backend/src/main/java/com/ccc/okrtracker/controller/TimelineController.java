@@ -0,0 +1,37 @@
+package com.ccc.okrtracker.controller;
+
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.dto.TimelineItem;
+import com.ccc.okrtracker.service.TimelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timeline")
+@RequiredArgsConstructor
+public class TimelineController {
+
+    private final TimelineService timelineService;
+
+    /**
+     * GET /api/timeline?from=2025-01-01&to=2025-03-31&projectIds=1&type=KeyResult&after=...&limit=200
+     * Items due inside the window, earliest first. Pass nextCursor back as 'after' to load more.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('VIEW_STRATEGY', 'MANAGE_STRATEGY')")
+    public ResponseEntity<KeysetPage<TimelineItem>> getTimeline(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<Long> projectIds,
+            @RequestParam(required = false) List<String> type,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "200") int limit) {
+        return ResponseEntity.ok(timelineService.getTimeline(from, to, projectIds, type, after, limit));
+    }
+}
@@ -1,9 +1,12 @@
 package com.ccc.okrtracker.controller;
 
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.dto.UserDirectoryEntry;
 import com.ccc.okrtracker.entity.User;
 import com.ccc.okrtracker.entity.UserPreference;
 import com.ccc.okrtracker.repository.UserPreferenceRepository;
 import com.ccc.okrtracker.repository.UserRepository;
+import com.ccc.okrtracker.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +25,7 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final UserPreferenceRepository userPreferenceRepository;
+    private final UserService userService;
 
     /**
      * Endpoint to fetch the application's User entity for the currently authenticated Keycloak user.
@@ -54,6 +58,20 @@ public class UserController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * GET /api/user/directory?q=jo&after=jdoe&limit=25 — Typeahead lookup for assignee pickers.
+     * Matches active users by login/email/first name/last name prefix and returns a keyset page
+     * of lightweight entries (no roles). Pass nextCursor back as 'after' to load more.
+     */
+    @GetMapping("/directory")
+    @PreAuthorize("isAuthenticated()")
+    public KeysetPage<UserDirectoryEntry> searchDirectory(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "25") int limit) {
+        return userService.searchDirectory(q, after, limit);
+    }
+
     // --- Helper: Resolve current user from JWT ---
     private Optional<User> resolveCurrentUser(Authentication authentication) {
         if (authentication.getPrincipal() instanceof Jwt jwt) {
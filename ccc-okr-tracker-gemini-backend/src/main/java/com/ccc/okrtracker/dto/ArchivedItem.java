@@ -0,0 +1,18 @@
+package com.ccc.okrtracker.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One soft-deleted node of any hierarchy level, as listed in the Recycle Bin.
+ * type is the entity type name (e.g. "Objective") accepted by /api/archive/restore/{type}/{id}.
+ */
+public record ArchivedItem(
+        String type,
+        Long id,
+        Long parentId,
+        Long projectId,
+        String title,
+        String closedBy,
+        LocalDateTime closedDate
+) {
+}
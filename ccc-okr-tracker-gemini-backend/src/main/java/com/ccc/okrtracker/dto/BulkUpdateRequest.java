@@ -0,0 +1,27 @@
+package com.ccc.okrtracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Partial updates of many Key Results and Action Items, applied in one transaction.
+ */
+public record BulkUpdateRequest(List<Change> updates) {
+
+    /**
+     * One node's changes; type is KeyResult or ActionItem (type name or URL segment), and null fields
+     * are left unchanged. isCompleted applies to Action Items only. Field semantics match
+     * PUT /key-results/{id} and PUT /action-items/{id}.
+     */
+    public record Change(
+            String type,
+            Long id,
+            String title,
+            String description,
+            String assignee,
+            LocalDate dueDate,
+            Integer progress,
+            Boolean isCompleted
+    ) {
+    }
+}
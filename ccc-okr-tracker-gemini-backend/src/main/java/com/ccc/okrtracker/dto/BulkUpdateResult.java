@@ -0,0 +1,10 @@
+package com.ccc.okrtracker.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk update: the updated nodes and every ancestor up to the Project, all read after
+ * the rollup so progress values are current. Nodes are flat (no children).
+ */
+public record BulkUpdateResult(List<HierarchyNode> updated, List<HierarchyNode> ancestors) {
+}
@@ -0,0 +1,34 @@
+package com.ccc.okrtracker.dto;
+
+import java.util.List;
+
+/**
+ * Portfolio aggregates for the dashboard, computed server-side.
+ * Progress status uses the dashboard's thresholds: completed at 100, off track below 30,
+ * at risk below 70, on track otherwise.
+ */
+public record DashboardSummary(
+        int projectCount,
+        int avgProjectProgress,
+        StatusCounts objectives,
+        StatusCounts keyResults,
+        List<ProjectStats> byProject,
+        List<QuarterStats> byQuarter,
+        List<AssigneeStats> byAssignee
+) {
+
+    public record StatusCounts(int total, int completed, int onTrack, int atRisk, int offTrack) {
+    }
+
+    public record ProjectStats(long projectId, String title, String description, int progress,
+                               StatusCounts objectives) {
+    }
+
+    // Objectives per planning quarter; year and quarter are null for unplanned objectives
+    public record QuarterStats(Integer year, String quarter, int objectives, int completed, int avgProgress) {
+    }
+
+    public record AssigneeStats(String assignee, int objectives, int keyResults,
+                                int openActionItems, int completedActionItems) {
+    }
+}
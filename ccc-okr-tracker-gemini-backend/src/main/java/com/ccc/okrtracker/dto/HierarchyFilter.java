@@ -0,0 +1,37 @@
+package com.ccc.okrtracker.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Predicates for the server-side hierarchy filter (My Objectives / Hierarchy filter bar).
+ * All fields are optional; null means "do not filter on this".
+ *
+ * - year, quarter, minProgress, maxProgress apply to Objectives.
+ * - dueFrom, dueTo, isCompleted apply to Action Items; when any is set, only Objectives and
+ *   Key Results with at least one matching Action Item are returned.
+ * - assignee (login, case-insensitive) follows the My Objectives rules: an Objective assigned to the
+ *   user includes its whole subtree, a Key Result assigned to the user includes all its Action Items,
+ *   otherwise only the user's own Action Items (and their ancestors) are kept.
+ */
+public record HierarchyFilter(
+        String assignee,
+        Integer year,
+        String quarter,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+        Boolean isCompleted,
+        Integer minProgress,
+        Integer maxProgress,
+        Long projectId
+) {
+
+    public boolean hasAssignee() {
+        return assignee != null && !assignee.isBlank();
+    }
+
+    public boolean hasActionItemPredicates() {
+        return dueFrom != null || dueTo != null || isCompleted != null;
+    }
+}
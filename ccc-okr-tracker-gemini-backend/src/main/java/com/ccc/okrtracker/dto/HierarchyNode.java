@@ -0,0 +1,38 @@
+package com.ccc.okrtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable read-model node for hierarchy views.
+ * One flat shape for all six levels; fields that do not apply to a level are null and omitted
+ * from JSON. Rows are loaded per level by HierarchyReadRepository and linked into trees in memory,
+ * so serializing a tree never triggers lazy loading.
+ * childCount is the number of (active) children, also set when the children themselves were not
+ * loaded because of a depth limit; the client uses it to decide whether a node can be expanded.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HierarchyNode(
+        Long id,
+        Long parentId,
+        String type,
+        String title,
+        String description,
+        Integer progress,
+        String assignee,
+        Integer year,
+        String quarter,
+        LocalDate dueDate,
+        Boolean isCompleted,
+        Boolean isActive,
+        Integer childCount,
+        List<HierarchyNode> children
+) {
+
+    public HierarchyNode withChildren(List<HierarchyNode> newChildren, Integer newChildCount) {
+        return new HierarchyNode(id, parentId, type, title, description, progress, assignee,
+                year, quarter, dueDate, isCompleted, isActive, newChildCount, newChildren);
+    }
+}
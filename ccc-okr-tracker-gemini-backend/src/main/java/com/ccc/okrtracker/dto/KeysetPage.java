@@ -0,0 +1,17 @@
+package com.ccc.okrtracker.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset-paginated listing.
+ * nextCursor is null when there are no further pages; otherwise it is passed back
+ * unchanged as the "after" parameter to fetch the next page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static <T> KeysetPage<T> of(List<T> items, int limit, Function<T, String> cursorOf) {
+        String next = items.size() < limit || items.isEmpty() ? null : cursorOf.apply(items.get(items.size() - 1));
+        return new KeysetPage<>(items, next);
+    }
+}
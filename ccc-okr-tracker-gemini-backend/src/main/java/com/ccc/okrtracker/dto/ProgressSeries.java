@@ -0,0 +1,26 @@
+package com.ccc.okrtracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Downsampled progress history of one node.
+ * startProgress is the last value recorded before the range (null if none), so a chart can draw the
+ * line from the left edge; points only exist for buckets in which the progress changed.
+ */
+public record ProgressSeries(
+        String type,
+        Long id,
+        String bucket,
+        LocalDate from,
+        LocalDate to,
+        Integer startProgress,
+        List<Point> points
+) {
+
+    /**
+     * progress is the value at the end of the bucket; min and max cover every value recorded in it.
+     */
+    public record Point(LocalDate bucketStart, int progress, int min, int max, int samples) {
+    }
+}
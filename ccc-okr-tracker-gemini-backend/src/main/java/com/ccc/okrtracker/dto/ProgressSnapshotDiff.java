@@ -0,0 +1,27 @@
+package com.ccc.okrtracker.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Progress differences between two daily snapshots.
+ * The counts cover every differing node in scope; changes lists at most 'limit' of them, largest
+ * movement first (truncated is true when some were left out).
+ */
+public record ProgressSnapshotDiff(
+        LocalDate from,
+        LocalDate to,
+        int changed,
+        int added,
+        int removed,
+        boolean truncated,
+        List<Change> changes
+) {
+
+    /**
+     * fromProgress is null for nodes that did not exist (or were archived) at 'from',
+     * toProgress is null for nodes gone by 'to'.
+     */
+    public record Change(String type, Long id, Long projectId, Integer fromProgress, Integer toProgress) {
+    }
+}
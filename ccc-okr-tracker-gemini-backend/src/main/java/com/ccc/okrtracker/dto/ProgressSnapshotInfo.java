@@ -0,0 +1,10 @@
+package com.ccc.okrtracker.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One stored daily progress snapshot; nodeCount covers all hierarchy levels.
+ */
+public record ProgressSnapshotInfo(LocalDate date, int nodeCount, LocalDateTime capturedAt) {
+}
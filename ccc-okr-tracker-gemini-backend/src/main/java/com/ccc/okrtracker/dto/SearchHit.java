@@ -0,0 +1,27 @@
+package com.ccc.okrtracker.dto;
+
+import java.util.List;
+
+/**
+ * One full-text search result.
+ * path lists the ancestors from the Project down to the direct parent (empty for Projects),
+ * so the client can render a breadcrumb and expand the tree to the hit.
+ */
+public record SearchHit(
+        String type,
+        Long id,
+        Long parentId,
+        Long projectId,
+        String title,
+        String description,
+        double rank,
+        List<PathEntry> path
+) {
+
+    public record PathEntry(String type, Long id, String title) {
+    }
+
+    public SearchHit withPath(List<PathEntry> newPath) {
+        return new SearchHit(type, id, parentId, projectId, title, description, rank, newPath);
+    }
+}
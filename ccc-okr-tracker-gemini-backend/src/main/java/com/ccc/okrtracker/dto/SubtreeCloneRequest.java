@@ -0,0 +1,13 @@
+package com.ccc.okrtracker.dto;
+
+/**
+ * Options for deep-copying a Goal or Objective subtree. All fields are optional.
+ *
+ * - targetParentId: Strategic Initiative (for a Goal) or Goal (for an Objective) to copy into;
+ *   defaults to the source's own parent.
+ * - year, quarter: planning period of the copied Objectives. Due dates inside an Objective are moved
+ *   by the same number of quarters when the source Objective has a year and quarter itself.
+ * - resetProgress: start the copies at 0% with open Action Items and calculated Key Result progress.
+ */
+public record SubtreeCloneRequest(Long targetParentId, Integer year, String quarter, Boolean resetProgress) {
+}
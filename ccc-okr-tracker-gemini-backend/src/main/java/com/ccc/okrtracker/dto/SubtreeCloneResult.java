@@ -0,0 +1,17 @@
+package com.ccc.okrtracker.dto;
+
+import java.util.Map;
+
+/**
+ * The copied subtree root and the number of nodes created per level type.
+ */
+public record SubtreeCloneResult(
+        String type,
+        Long sourceId,
+        Long id,
+        Long parentId,
+        Long projectId,
+        int nodeCount,
+        Map<String, Integer> countsByType
+) {
+}
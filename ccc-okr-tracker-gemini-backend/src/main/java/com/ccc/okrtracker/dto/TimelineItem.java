@@ -0,0 +1,25 @@
+package com.ccc.okrtracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Flat timeline row for an Objective, Key Result or Action Item with a due date.
+ * year and quarter are only set for Objectives, isCompleted only for Action Items.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TimelineItem(
+        String type,
+        Long id,
+        Long parentId,
+        Long projectId,
+        String title,
+        Integer progress,
+        String assignee,
+        LocalDate dueDate,
+        Integer year,
+        String quarter,
+        Boolean isCompleted
+) {
+}
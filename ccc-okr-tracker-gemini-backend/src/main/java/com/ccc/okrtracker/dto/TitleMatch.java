@@ -0,0 +1,7 @@
+package com.ccc.okrtracker.dto;
+
+/**
+ * A typeahead suggestion: a node whose title contains the typed text.
+ */
+public record TitleMatch(String type, Long id, Long projectId, String title) {
+}
@@ -0,0 +1,17 @@
+package com.ccc.okrtracker.dto;
+
+/**
+ * Lightweight projection of an active user for assignee pickers.
+ * Deliberately excludes roles and audit fields so directory lookups never
+ * touch the eager role/permission graph.
+ */
+public record UserDirectoryEntry(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String login,
+        String avatar,
+        String groupNo
+) {
+}
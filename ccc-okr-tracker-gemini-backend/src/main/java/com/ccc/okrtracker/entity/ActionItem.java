@@ -23,4 +23,8 @@ public class ActionItem extends BaseEntity {
     @JoinColumn(name = "key_result_id")
     @JsonIgnore
     private KeyResult keyResult;
+
+    // Denormalized owning project, set on create/import so project lookups need no parent traversal
+    @Column(name = "project_id")
+    private Long projectId;
 }
\ No newline at end of file
@@ -22,6 +22,10 @@ public class Goal extends BaseEntity {
     @JsonIgnore
     private StrategicInitiative initiative;
 
+    // Denormalized owning project, set on create/import so project lookups need no parent traversal
+    @Column(name = "project_id")
+    private Long projectId;
+
     @OneToMany(mappedBy = "goal", cascade = CascadeType.ALL)
     @BatchSize(size = 50)
     private List<Objective> objectives = new ArrayList<>();
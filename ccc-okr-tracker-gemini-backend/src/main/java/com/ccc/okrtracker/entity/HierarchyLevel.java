@@ -0,0 +1,96 @@
+package com.ccc.okrtracker.entity;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The six levels of the OKR hierarchy, top to bottom.
+ * Carries the table/column names used by the JdbcTemplate read and bulk-write paths,
+ * and the type name exposed to the frontend (same as BaseEntity.getType()).
+ */
+public enum HierarchyLevel {
+    PROJECT("Project", "project", null, "projects"),
+    INITIATIVE("StrategicInitiative", "strategic_initiative", "project_id", "initiatives"),
+    GOAL("Goal", "goal", "initiative_id", "goals"),
+    OBJECTIVE("Objective", "objective", "goal_id", "objectives"),
+    KEY_RESULT("KeyResult", "key_result", "objective_id", "key-results"),
+    ACTION_ITEM("ActionItem", "action_item", "key_result_id", "action-items");
+
+    private final String typeName;
+    private final String tableName;
+    private final String parentColumn;
+    private final String pathSegment;
+
+    HierarchyLevel(String typeName, String tableName, String parentColumn, String pathSegment) {
+        this.typeName = typeName;
+        this.tableName = tableName;
+        this.parentColumn = parentColumn;
+        this.pathSegment = pathSegment;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Foreign key column pointing at the parent level, or null for PROJECT.
+     */
+    public String getParentColumn() {
+        return parentColumn;
+    }
+
+    public String getPathSegment() {
+        return pathSegment;
+    }
+
+    public HierarchyLevel parent() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+
+    public HierarchyLevel child() {
+        return ordinal() == values().length - 1 ? null : values()[ordinal() + 1];
+    }
+
+    /**
+     * Resolves a level from any of the names the API accepts:
+     * the type name ("KeyResult"), the enum name ("KEY_RESULT"), the URL segment ("key-results"),
+     * or the short form "Initiative".
+     *
+     * @throws IllegalArgumentException if the value does not name a level
+     */
+    public static HierarchyLevel fromType(String value) {
+        if (value != null) {
+            String normalized = value.trim().toLowerCase(Locale.ROOT).replace("-", "").replace("_", "");
+            for (HierarchyLevel level : values()) {
+                if (level.typeName.toLowerCase(Locale.ROOT).equals(normalized)
+                        || level.name().toLowerCase(Locale.ROOT).replace("_", "").equals(normalized)
+                        || level.pathSegment.replace("-", "").equals(normalized)) {
+                    return level;
+                }
+            }
+            if (normalized.equals("initiative")) {
+                return INITIATIVE;
+            }
+        }
+        throw new IllegalArgumentException("Unknown hierarchy type: " + value);
+    }
+
+    /**
+     * Resolve a list of type names / URL segments as accepted by fromType().
+     * Null or empty means all levels.
+     */
+    public static Set<HierarchyLevel> fromTypes(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return EnumSet.allOf(HierarchyLevel.class);
+        }
+        Set<HierarchyLevel> levels = EnumSet.noneOf(HierarchyLevel.class);
+        values.forEach(value -> levels.add(fromType(value)));
+        return levels;
+    }
+}
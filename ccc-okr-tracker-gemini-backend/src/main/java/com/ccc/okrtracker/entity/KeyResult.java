@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.BatchSize;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,7 +19,7 @@ public class KeyResult extends BaseEntity {
     private Integer progress = 0;
 
     private String assignee;
-    private String dueDate; // Due date for the Key Result
+    private LocalDate dueDate; // Due date for the Key Result
     
     // Flag: true = KR was manually set, use direct value. false = calculate from action items
     private Boolean manualProgressSet = false;
@@ -28,6 +29,10 @@ public class KeyResult extends BaseEntity {
     @JsonIgnore
     private Objective objective;
 
+    // Denormalized owning project, set on create/import so project lookups need no parent traversal
+    @Column(name = "project_id")
+    private Long projectId;
+
     @OneToMany(mappedBy = "keyResult", cascade = CascadeType.ALL)
     @OrderBy("id ASC") // Maintain stable sort order by ID (creation order)
     @BatchSize(size = 50)
@@ -28,6 +28,10 @@ public class Objective extends BaseEntity {
     @JsonIgnore
     private Goal goal;
 
+    // Denormalized owning project, set on create/import so project lookups need no parent traversal
+    @Column(name = "project_id")
+    private Long projectId;
+
     @OneToMany(mappedBy = "objective", cascade = CascadeType.ALL)
     @BatchSize(size = 50)
     private List<KeyResult> keyResults = new ArrayList<>();
@@ -1,12 +1,16 @@
 package com.ccc.okrtracker.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ccc.okrtracker.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLE_REGION)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Role extends BaseEntity {
     private String name;
@@ -16,6 +20,7 @@ public class Role extends BaseEntity {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "role_permissions", joinColumns = @JoinColumn(name = "role_id"))
     @Column(name = "permission")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ROLE_PERMISSIONS_REGION)
     private Set<String> permissions = new HashSet<>();
 
     // Inverse side of User.roles relationship
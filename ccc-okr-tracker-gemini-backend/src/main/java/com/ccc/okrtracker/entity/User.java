@@ -1,13 +1,17 @@
 package com.ccc.okrtracker.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ccc.okrtracker.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "app_users") // 'user' is a reserved keyword in Postgres
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class User extends BaseEntity {
     private String firstName;
@@ -28,6 +32,7 @@ public class User extends BaseEntity {
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_ROLES_REGION)
     private Set<Role> roles = new HashSet<>();
 
     // NOTE: assignedProjects is managed via JdbcTemplate (UserProjectRepository)
@@ -0,0 +1,42 @@
+package com.ccc.okrtracker.event;
+
+import java.util.UUID;
+
+/**
+ * Tells every application node that cached data derived from a project, user or role changed. Published after
+ * commit on the CacheInvalidationBus; origin is the publishing node, so a node can skip what its own caches
+ * already reflect.
+ */
+public record CacheInvalidation(Type type, Long id, String origin) {
+
+    /** Identifies this JVM for the lifetime of the process. */
+    public static final String LOCAL_NODE = UUID.randomUUID().toString();
+
+    public enum Type {
+        /** Hierarchy nodes of a project (a committed HierarchyChangedEvent) */
+        PROJECT,
+        /** A user row, its role assignments (user_roles) or its project assignments (user_projects) */
+        USER,
+        /** A role row or its permissions (role_permissions) */
+        ROLE,
+        /** The projects a role is scoped to (role_projects) */
+        ROLE_SCOPE,
+        /** Messages may have been missed: every cache must be treated as stale (id is null) */
+        ALL
+    }
+
+    public static CacheInvalidation of(Type type, Long id) {
+        return new CacheInvalidation(type, id, LOCAL_NODE);
+    }
+
+    /**
+     * Full resync, raised by a bus on the receiving node; it has no origin, so every subscriber acts on it.
+     */
+    public static CacheInvalidation resync() {
+        return new CacheInvalidation(Type.ALL, null, null);
+    }
+
+    public boolean isRemote() {
+        return !LOCAL_NODE.equals(origin);
+    }
+}
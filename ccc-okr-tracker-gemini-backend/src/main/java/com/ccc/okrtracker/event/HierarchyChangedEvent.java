@@ -0,0 +1,8 @@
+package com.ccc.okrtracker.event;
+
+/**
+ * Published by HierarchyService and ImportService whenever nodes of a project were created, updated,
+ * archived or restored. Listeners that keep derived data (indexes, caches) should react after commit.
+ */
+public record HierarchyChangedEvent(Long projectId) {
+}
@@ -0,0 +1,31 @@
+package com.ccc.okrtracker.monitoring;
+
+import com.ccc.okrtracker.service.DashboardService;
+import com.ccc.okrtracker.service.TitleIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health component "cache": OUT_OF_SERVICE until the in-memory title index has been built, so a node only
+ * takes traffic once typeahead is served from memory. The dashboard aggregate cache fills on demand and is
+ * reported for information only.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheHealthIndicator implements HealthIndicator {
+
+    private final TitleIndexService titleIndex;
+    private final DashboardService dashboardService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = titleIndex.isReady() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("titleIndexReady", titleIndex.isReady())
+                .withDetail("titleIndexNodes", titleIndex.size())
+                .withDetail("dashboardCachedProjects", dashboardService.cachedProjects())
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.ccc.okrtracker.monitoring;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.RuntimeEnvironment;
+import liquibase.changelog.ChangeLogIterator;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.filter.ContextChangeSetFilter;
+import liquibase.changelog.filter.DbmsChangeSetFilter;
+import liquibase.changelog.filter.IgnoreChangeSetFilter;
+import liquibase.changelog.filter.LabelChangeSetFilter;
+import liquibase.changelog.filter.ShouldRunChangeSetFilter;
+import liquibase.changelog.visitor.ListVisitor;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Health component "liquibase": OUT_OF_SERVICE while the database is missing change sets of the bundled
+ * changelog, e.g. in production where migrations are applied by hand (spring.liquibase.enabled=false) and a new
+ * WAR was deployed before its migration ran. Parsing the changelog is not free, so an UP result is reused for
+ * app.health.liquibase.check-interval-seconds; anything else is checked again after a few seconds, so neither a
+ * passing database error nor a migration that was just applied keeps the node out of the load balancer.
+ */
+@Component
+public class LiquibaseHealthIndicator implements HealthIndicator {
+
+    private static final Duration RECHECK_NOT_UP = Duration.ofSeconds(5);
+
+    private final DataSource dataSource;
+    private final String changeLog;
+    private final String defaultSchema;
+    private final Duration checkInterval;
+
+    private volatile Health cached;
+    private volatile long checkedAt;
+
+    public LiquibaseHealthIndicator(DataSource dataSource,
+                                    @Value("${spring.liquibase.change-log:classpath:db/changelog/db.changelog-master.yaml}") String changeLog,
+                                    @Value("${spring.liquibase.default-schema:}") String defaultSchema,
+                                    @Value("${app.health.liquibase.check-interval-seconds:300}") long checkIntervalSeconds) {
+        this.dataSource = dataSource;
+        this.changeLog = changeLog.startsWith("classpath:") ? changeLog.substring("classpath:".length()) : changeLog;
+        this.defaultSchema = defaultSchema;
+        this.checkInterval = Duration.ofSeconds(checkIntervalSeconds);
+    }
+
+    @Override
+    public Health health() {
+        Health health = cached;
+        Duration maxAge = health != null && Status.UP.equals(health.getStatus()) ? checkInterval : RECHECK_NOT_UP;
+        if (health == null || System.nanoTime() - checkedAt > maxAge.toNanos()) {
+            health = check();
+            cached = health;
+            checkedAt = System.nanoTime();
+        }
+        return health;
+    }
+
+    private Health check() {
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            if (!defaultSchema.isEmpty()) {
+                database.setDefaultSchemaName(defaultSchema);
+            }
+            Liquibase liquibase = new Liquibase(changeLog, new ClassLoaderResourceAccessor(), database);
+            List<ChangeSet> pending = pendingChangeSets(liquibase, database);
+            Health.Builder builder = pending.isEmpty() ? Health.up() : Health.outOfService();
+            builder.withDetail("changeLog", changeLog).withDetail("pendingChangeSets", pending.size());
+            if (!pending.isEmpty()) {
+                builder.withDetail("firstPending", pending.get(0).getFilePath() + "::" + pending.get(0).getId());
+            }
+            return builder.build();
+        } catch (Exception e) {
+            return Health.down(e).withDetail("changeLog", changeLog).build();
+        }
+    }
+
+    // The filters Liquibase's update applies, without its setup: the tracking tables are only read, never created
+    private static List<ChangeSet> pendingChangeSets(Liquibase liquibase, Database database) throws Exception {
+        Contexts contexts = new Contexts();
+        LabelExpression labels = new LabelExpression();
+        ChangeLogIterator iterator = new ChangeLogIterator(liquibase.getDatabaseChangeLog(),
+                new ShouldRunChangeSetFilter(database), new ContextChangeSetFilter(contexts),
+                new LabelChangeSetFilter(labels), new DbmsChangeSetFilter(database), new IgnoreChangeSetFilter());
+        ListVisitor visitor = new ListVisitor();
+        iterator.run(visitor, new RuntimeEnvironment(database, contexts, labels));
+        return visitor.getSeenChangeSets();
+    }
+}
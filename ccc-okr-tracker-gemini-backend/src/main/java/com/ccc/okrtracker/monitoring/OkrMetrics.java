@@ -0,0 +1,94 @@
+package com.ccc.okrtracker.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters recorded from code (the hierarchy write timers are @Timed annotations on HierarchyService):
+ * - okr.rollup: CalculationService.recalculateProject duration, with a histogram for latency alerts
+ * - okr.rollup.phase: the same split by phase (flush, refresh, initialize, compute, history)
+ * - okr.rollup.nodes: nodes loaded and visited per rollup
+ * - okr.import.rows / okr.import / okr.import.throughput: imported rows, import duration and rows per second
+ * - okr.startup.warmup: startup warm-up tasks (see WarmupService)
+ */
+@Component
+public class OkrMetrics {
+
+    public enum RollupPhase {
+        FLUSH, REFRESH, INITIALIZE, COMPUTE, HISTORY
+    }
+
+    private final MeterRegistry registry;
+    private final Timer rollup;
+    private final Map<RollupPhase, Timer> rollupPhases = new EnumMap<>(RollupPhase.class);
+    private final DistributionSummary rollupNodes;
+    private final Counter importRows;
+    private final Timer importDuration;
+    private final DistributionSummary importThroughput;
+
+    public OkrMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        rollup = Timer.builder("okr.rollup")
+                .description("Progress rollup of one project")
+                .publishPercentileHistogram()
+                .register(registry);
+        for (RollupPhase phase : RollupPhase.values()) {
+            rollupPhases.put(phase, Timer.builder("okr.rollup.phase")
+                    .description("Progress rollup of one project, by phase")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        rollupNodes = DistributionSummary.builder("okr.rollup.nodes")
+                .description("Hierarchy nodes visited per progress rollup")
+                .baseUnit("nodes")
+                .register(registry);
+        importRows = Counter.builder("okr.import.rows")
+                .description("CSV rows imported")
+                .baseUnit("rows")
+                .register(registry);
+        importDuration = Timer.builder("okr.import")
+                .description("Hierarchy CSV import, parsed rows to commit")
+                .register(registry);
+        importThroughput = DistributionSummary.builder("okr.import.throughput")
+                .description("Rows per second of each hierarchy CSV import")
+                .baseUnit("rows.per.second")
+                .register(registry);
+    }
+
+    /**
+     * @param phaseNanos time per phase, indexed by RollupPhase ordinal
+     */
+    public void recordRollup(long[] phaseNanos, int nodes) {
+        long total = 0;
+        for (RollupPhase phase : RollupPhase.values()) {
+            rollupPhases.get(phase).record(phaseNanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+            total += phaseNanos[phase.ordinal()];
+        }
+        rollup.record(total, TimeUnit.NANOSECONDS);
+        rollupNodes.record(nodes);
+    }
+
+    public void recordWarmup(String task, long nanos) {
+        Timer.builder("okr.startup.warmup")
+                .description("Startup warm-up tasks")
+                .tag("task", task)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordImport(int rows, long nanos) {
+        importRows.increment(rows);
+        importDuration.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos > 0) {
+            importThroughput.record(rows * 1e9 / nanos);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ccc.okrtracker.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * SQL statements executed on one thread while a unit of work (usually one HTTP request) runs: how many, how
+ * long they took in total and the slowest few. Filled by QueryStatsDataSource, only while started.
+ *
+ * Work handed to other threads (the rollup executor, scheduled jobs) is not attributed to the request.
+ */
+public final class QueryStatistics {
+
+    /** Request attribute holding the finished statistics of a request, set by QueryStatsFilter. */
+    public static final String REQUEST_ATTRIBUTE = QueryStatistics.class.getName();
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_SQL_LENGTH = 300;
+
+    public record SlowStatement(String sql, long nanos) {
+    }
+
+    private final int keepSlowest;
+    private final List<SlowStatement> slowest = new ArrayList<>();
+    private int statements;
+    private long nanos;
+
+    private QueryStatistics(int keepSlowest) {
+        this.keepSlowest = keepSlowest;
+    }
+
+    /**
+     * Starts collecting on the current thread, replacing any statistics already started.
+     */
+    public static QueryStatistics start(int keepSlowest) {
+        QueryStatistics statistics = new QueryStatistics(keepSlowest);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return the statistics being collected on the current thread, or null
+     */
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void restore(QueryStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (keepSlowest == 0) {
+            return;
+        }
+        if (slowest.size() == keepSlowest) {
+            if (slowest.get(keepSlowest - 1).nanos() >= elapsedNanos) {
+                return;
+            }
+            slowest.remove(keepSlowest - 1);
+        }
+        String text = sql == null ? "?" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+        slowest.add(new SlowStatement(text, elapsedNanos));
+        slowest.sort(Comparator.comparingLong(SlowStatement::nanos).reversed());
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public double millis() {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @return the slowest statements, slowest first
+     */
+    public List<SlowStatement> slowest() {
+        return List.copyOf(slowest);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ccc.okrtracker.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statistics (see QueryStatsFilter). Disable with app.query-stats.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryStatsDataSource)
+                        ? new QueryStatsDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            MeterRegistry registry,
+            @Value("${app.query-stats.log-statements:25}") int statementThreshold,
+            @Value("${app.query-stats.log-millis:250}") long millisThreshold,
+            @Value("${app.query-stats.slowest:3}") int keepSlowest) {
+        FilterRegistrationBean<QueryStatsFilter> registration = new FilterRegistrationBean<>(
+                new QueryStatsFilter(registry, statementThreshold, millisThreshold, keepSlowest));
+        // Ahead of Spring Security (and of any other filter touching the database)
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ccc.okrtracker.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper timing every executed statement (execute*, each executeBatch counting as one round trip)
+ * into the QueryStatistics of the current thread. Without started statistics, calls are only passed through.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource {
+
+    public QueryStatsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()) {
+                case "createStatement" -> result = wrapStatement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> result = wrapStatement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> result = wrapStatement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                default -> {
+                }
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(QueryStatsDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    // sql is the prepared statement text; plain statements pass it to execute*(sql, ...)
+    private static <T extends Statement> T wrapStatement(Class<T> type, T target, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            QueryStatistics statistics = QueryStatistics.current();
+            if (statistics == null || !method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            long started = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                String text = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : "batch";
+                statistics.record(text, System.nanoTime() - started);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(QueryStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ccc.okrtracker.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Collects QueryStatistics for each request and records them per controller method:
+ * - okr.db.statements: statements per request (distribution summary)
+ * - okr.db.time: time spent executing statements per request (timer)
+ * - okr.db.threshold.exceeded: requests over the statement or time threshold, which are also logged with
+ *   their slowest statements
+ *
+ * Registered ahead of Spring Security, so the user and role lookups made for every JWT count as part of the
+ * request. Requests rejected before reaching a controller are tagged handler=none.
+ */
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int statementThreshold;
+    private final long nanosThreshold;
+    private final int keepSlowest;
+
+    public QueryStatsFilter(MeterRegistry registry, int statementThreshold, long millisThreshold, int keepSlowest) {
+        this.registry = registry;
+        this.statementThreshold = statementThreshold;
+        this.nanosThreshold = TimeUnit.MILLISECONDS.toNanos(millisThreshold);
+        this.keepSlowest = keepSlowest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.start(keepSlowest);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryStatistics.stop();
+            request.setAttribute(QueryStatistics.REQUEST_ATTRIBUTE, statistics);
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStatistics statistics) {
+        String handler = handlerName(request);
+        DistributionSummary.builder("okr.db.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("handler", handler)
+                .register(registry)
+                .record(statistics.statements());
+        Timer.builder("okr.db.time")
+                .description("Time spent executing SQL statements per request")
+                .tag("handler", handler)
+                .register(registry)
+                .record(statistics.nanos(), TimeUnit.NANOSECONDS);
+
+        boolean tooMany = statementThreshold > 0 && statistics.statements() > statementThreshold;
+        boolean tooSlow = nanosThreshold > 0 && statistics.nanos() > nanosThreshold;
+        if (tooMany || tooSlow) {
+            registry.counter("okr.db.threshold.exceeded", "handler", handler).increment();
+            log.warn("{} {} ({}): {} statements, {} ms in the database; slowest: {}",
+                    request.getMethod(), request.getRequestURI(), handler, statistics.statements(),
+                    String.format("%.1f", statistics.millis()),
+                    statistics.slowest().stream()
+                            .map(s -> String.format("[%.1f ms] %s", s.nanos() / 1_000_000.0, s.sql()))
+                            .collect(Collectors.joining("; ")));
+        }
+    }
+
+    // Controller.method of the handler that served the request
+    private static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,56 @@
+package com.ccc.okrtracker.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress rollups currently running. Rollups run synchronously inside the write transactions, so this is
+ * the rollup backlog of the node: its depth is the number of rollups in flight, its age how long the oldest
+ * one has been running. Exported as the okr.rollup.in.flight and okr.rollup.oldest gauges and checked by
+ * RollupHealthIndicator.
+ */
+@Component
+public class RollupActivity {
+
+    private final AtomicLong tickets = new AtomicLong();
+    private final Map<Long, Long> started = new ConcurrentHashMap<>();
+
+    public RollupActivity(MeterRegistry registry) {
+        Gauge.builder("okr.rollup.in.flight", this, RollupActivity::depth)
+                .description("Progress rollups currently running")
+                .register(registry);
+        Gauge.builder("okr.rollup.oldest", this, activity -> activity.oldestAge().toMillis() / 1000.0)
+                .description("Running time of the oldest progress rollup in flight")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * @return the ticket to pass to end()
+     */
+    public long begin() {
+        long ticket = tickets.incrementAndGet();
+        started.put(ticket, System.nanoTime());
+        return ticket;
+    }
+
+    public void end(long ticket) {
+        started.remove(ticket);
+    }
+
+    public int depth() {
+        return started.size();
+    }
+
+    public Duration oldestAge() {
+        long now = System.nanoTime();
+        long oldest = started.values().stream().mapToLong(Long::longValue).min().orElse(now);
+        return Duration.ofNanos(now - oldest);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ccc.okrtracker.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Health component "rollup": OUT_OF_SERVICE while more rollups are in flight than app.health.rollup.max-in-flight,
+ * or the oldest has been running longer than app.health.rollup.max-age-seconds, so the load balancer stops
+ * routing to a backlogged node until it has caught up.
+ */
+@Component
+public class RollupHealthIndicator implements HealthIndicator {
+
+    private final RollupActivity activity;
+    private final int maxInFlight;
+    private final Duration maxAge;
+
+    public RollupHealthIndicator(RollupActivity activity,
+                                 @Value("${app.health.rollup.max-in-flight:8}") int maxInFlight,
+                                 @Value("${app.health.rollup.max-age-seconds:30}") long maxAgeSeconds) {
+        this.activity = activity;
+        this.maxInFlight = maxInFlight;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+    }
+
+    @Override
+    public Health health() {
+        int depth = activity.depth();
+        Duration age = activity.oldestAge();
+        Health.Builder builder = depth > maxInFlight || age.compareTo(maxAge) > 0 ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("inFlight", depth)
+                .withDetail("oldestMillis", age.toMillis())
+                .withDetail("maxInFlight", maxInFlight)
+                .withDetail("maxAgeSeconds", maxAge.toSeconds())
+                .build();
+    }
+}
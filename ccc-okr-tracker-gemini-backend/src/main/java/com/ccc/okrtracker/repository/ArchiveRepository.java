@@ -0,0 +1,104 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.dto.ArchivedItem;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.ccc.okrtracker.repository.HierarchyReadRepository.projectColumn;
+
+/**
+ * Soft-deleted hierarchy nodes, one query per level.
+ * Every query filters on is_active = false and orders by (closed_date DESC, id DESC), which is exactly
+ * the partial archive index on each table, so pages are read straight off the index.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Load archived nodes of one level that sort after the given cursor.
+     * Across levels, items closed at the same instant are ordered by level (Project first), so a level
+     * above the cursor's level must be strictly older and a level below may share the cursor's timestamp.
+     * Rows without a closed_date sort last, by id; they are read with their own query, since adding
+     * "OR closed_date IS NULL" to the range predicates would keep them from being an index range scan.
+     *
+     * @param after Last item of the previous page (its closedDate may be null), or null for the first page.
+     * @param limit Maximum rows to return, or null for no limit.
+     */
+    public List<ArchivedItem> findArchived(HierarchyLevel level, Collection<Long> projectIds, ArchivedItem after, Integer limit) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        if (after == null) {
+            return query(level, projectIds, "", new MapSqlParameterSource(), limit);
+        }
+
+        int cmp = level.compareTo(HierarchyLevel.fromType(after.type()));
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", after.id());
+        List<ArchivedItem> items = new ArrayList<>();
+        if (after.closedDate() != null) {
+            params.addValue("afterDate", Timestamp.valueOf(after.closedDate()));
+            String condition;
+            if (cmp < 0) {
+                condition = " AND n.closed_date < :afterDate";
+            } else if (cmp > 0) {
+                condition = " AND n.closed_date <= :afterDate";
+            } else {
+                condition = " AND (n.closed_date < :afterDate OR (n.closed_date = :afterDate AND n.id < :afterId))";
+            }
+            items.addAll(query(level, projectIds, condition, params, limit));
+            if (limit != null && items.size() >= limit) {
+                return items;
+            }
+        } else if (cmp < 0) {
+            // Undated rows of a level above the cursor's sorted before it
+            return items;
+        }
+
+        String undated = " AND n.closed_date IS NULL";
+        if (after.closedDate() == null && cmp == 0) {
+            undated += " AND n.id < :afterId";
+        }
+        items.addAll(query(level, projectIds, undated, params, limit != null ? limit - items.size() : null));
+        return items;
+    }
+
+    private List<ArchivedItem> query(HierarchyLevel level, Collection<Long> projectIds, String condition,
+                                     MapSqlParameterSource params, Integer limit) {
+        params.addValue("projectIds", projectIds);
+        String parent = level.getParentColumn() != null ? "n." + level.getParentColumn() : "NULL";
+        StringBuilder sql = new StringBuilder("SELECT n.id, ").append(parent).append(" AS parent_id, ")
+                .append(projectColumn(level)).append(" AS project_id, n.title, n.closed_by, n.closed_date")
+                .append(" FROM ").append(level.getTableName()).append(" n")
+                .append(" WHERE n.is_active = false AND ").append(projectColumn(level)).append(" IN (:projectIds)")
+                .append(condition)
+                .append(" ORDER BY n.closed_date DESC NULLS LAST, n.id DESC");
+        if (limit != null) {
+            params.addValue("limit", limit);
+            sql.append(" LIMIT :limit");
+        }
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            Timestamp closedDate = rs.getTimestamp("closed_date");
+            Object parentId = rs.getObject("parent_id");
+            return new ArchivedItem(
+                    level.getTypeName(),
+                    rs.getLong("id"),
+                    parentId != null ? ((Number) parentId).longValue() : null,
+                    rs.getLong("project_id"),
+                    rs.getString("title"),
+                    rs.getString("closed_by"),
+                    closedDate != null ? closedDate.toLocalDateTime() : null);
+        });
+    }
+}
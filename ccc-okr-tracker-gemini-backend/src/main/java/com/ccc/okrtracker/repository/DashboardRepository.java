@@ -0,0 +1,101 @@
+package com.ccc.okrtracker.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * GROUP BY aggregates over active Objectives, Key Results and Action Items for the dashboard.
+ * Every query groups by project_id, so results can be cached per project and merged for any project set.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardRepository {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String ON_TRACK = "ON_TRACK";
+    public static final String AT_RISK = "AT_RISK";
+    public static final String OFF_TRACK = "OFF_TRACK";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * One row per project, planning quarter and status (year and quarter are null for Key Results).
+     */
+    public record StatusBucket(long projectId, Integer year, String quarter, String status, int count, long progressSum) {
+    }
+
+    /**
+     * One row per project, assignee, node type and completion flag (always false for Objectives and Key Results).
+     */
+    public record AssigneeBucket(long projectId, String assignee, String type, boolean completed, int count) {
+    }
+
+    public List<StatusBucket> findObjectiveBuckets(Collection<Long> projectIds) {
+        String sql = "SELECT o.project_id, o.year, o.quarter, " + statusCase("o.progress") + " AS status,"
+                + " COUNT(*) AS cnt, SUM(COALESCE(o.progress, 0)) AS progress_sum"
+                + " FROM objective o"
+                + " WHERE o.is_active = true AND o.project_id IN (:projectIds)"
+                + " GROUP BY o.project_id, o.year, o.quarter, " + statusCase("o.progress");
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectIds", projectIds), (rs, rowNum) ->
+                new StatusBucket(
+                        rs.getLong("project_id"),
+                        rs.getObject("year", Integer.class),
+                        rs.getString("quarter"),
+                        rs.getString("status"),
+                        rs.getInt("cnt"),
+                        rs.getLong("progress_sum")));
+    }
+
+    public List<StatusBucket> findKeyResultBuckets(Collection<Long> projectIds) {
+        String sql = "SELECT k.project_id, " + statusCase("k.progress") + " AS status,"
+                + " COUNT(*) AS cnt, SUM(COALESCE(k.progress, 0)) AS progress_sum"
+                + " FROM key_result k"
+                + " WHERE k.is_active = true AND k.project_id IN (:projectIds)"
+                + " GROUP BY k.project_id, " + statusCase("k.progress");
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectIds", projectIds), (rs, rowNum) ->
+                new StatusBucket(
+                        rs.getLong("project_id"),
+                        null,
+                        null,
+                        rs.getString("status"),
+                        rs.getInt("cnt"),
+                        rs.getLong("progress_sum")));
+    }
+
+    public List<AssigneeBucket> findAssigneeBuckets(Collection<Long> projectIds) {
+        String sql = "SELECT o.project_id, o.assignee, 'Objective' AS type, FALSE AS completed, COUNT(*) AS cnt"
+                + " FROM objective o"
+                + " WHERE o.is_active = true AND o.project_id IN (:projectIds) AND o.assignee <> ''"
+                + " GROUP BY o.project_id, o.assignee"
+                + " UNION ALL"
+                + " SELECT k.project_id, k.assignee, 'KeyResult', FALSE, COUNT(*)"
+                + " FROM key_result k"
+                + " WHERE k.is_active = true AND k.project_id IN (:projectIds) AND k.assignee <> ''"
+                + " GROUP BY k.project_id, k.assignee"
+                + " UNION ALL"
+                + " SELECT a.project_id, a.assignee, 'ActionItem', COALESCE(a.is_completed, FALSE), COUNT(*)"
+                + " FROM action_item a"
+                + " WHERE a.is_active = true AND a.project_id IN (:projectIds) AND a.assignee <> ''"
+                + " GROUP BY a.project_id, a.assignee, COALESCE(a.is_completed, FALSE)";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectIds", projectIds), (rs, rowNum) ->
+                new AssigneeBucket(
+                        rs.getLong("project_id"),
+                        rs.getString("assignee"),
+                        rs.getString("type"),
+                        rs.getBoolean("completed"),
+                        rs.getInt("cnt")));
+    }
+
+    // Same thresholds as the dashboard: 100 completed, < 30 off track, < 70 at risk
+    private static String statusCase(String progress) {
+        return "CASE WHEN COALESCE(" + progress + ", 0) >= 100 THEN '" + COMPLETED + "'"
+                + " WHEN COALESCE(" + progress + ", 0) < 30 THEN '" + OFF_TRACK + "'"
+                + " WHEN COALESCE(" + progress + ", 0) < 70 THEN '" + AT_RISK + "'"
+                + " ELSE '" + ON_TRACK + "' END";
+    }
+}
@@ -0,0 +1,356 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.dto.HierarchyFilter;
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only access to the hierarchy as flat HierarchyNode rows.
+ * Uses JdbcTemplate instead of JPA so that reads issue exactly one query per level
+ * and never touch lazy collections or audit columns.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HierarchyReadRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Load all nodes of one level that belong to the given projects, ordered by ID (creation order).
+     *
+     * @param includeInactive If false, soft-deleted rows are skipped.
+     */
+    public List<HierarchyNode> findByProjects(HierarchyLevel level, Collection<Long> projectIds, boolean includeInactive) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT " + selectColumns(level)
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE " + projectColumn(level) + " IN (:projectIds)"
+                + (includeInactive ? "" : " AND n.is_active = true")
+                + " ORDER BY n.id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("projectIds", projectIds), rowMapper(level));
+    }
+
+    /**
+     * Load nodes of one level by ID, ordered by ID. Used to fetch the ancestor path of filtered results.
+     */
+    public List<HierarchyNode> findByIds(HierarchyLevel level, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT " + selectColumns(level)
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE n.id IN (:ids)"
+                + " ORDER BY n.id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), rowMapper(level));
+    }
+
+    /**
+     * Load the active Objectives, Key Results or Action Items that satisfy a HierarchyFilter.
+     * All predicates, including the assignee scoping rules, are evaluated in SQL; see HierarchyFilter
+     * for their semantics. Each level is one query, correlated through EXISTS sub-selects.
+     */
+    public List<HierarchyNode> findMatching(HierarchyLevel level, HierarchyFilter filter, Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("projectIds", projectIds);
+        params.addValue("assignee", filter.hasAssignee() ? filter.assignee().trim().toLowerCase(Locale.ROOT) : null);
+        params.addValue("year", filter.year());
+        params.addValue("quarter", filter.quarter());
+        params.addValue("minProgress", filter.minProgress());
+        params.addValue("maxProgress", filter.maxProgress());
+        params.addValue("dueFrom", filter.dueFrom());
+        params.addValue("dueTo", filter.dueTo());
+        params.addValue("isCompleted", filter.isCompleted());
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectColumns(level))
+                .append(" FROM ").append(level.getTableName()).append(" n ").append(filterJoin(level))
+                .append(" WHERE ").append(projectColumn(level)).append(" IN (:projectIds)");
+
+        switch (level) {
+            case OBJECTIVE -> sql.append(objectivePredicates("n", filter))
+                    .append(" AND ").append(objectiveCondition("n", filter));
+            case KEY_RESULT -> sql.append(objectivePredicates("o", filter))
+                    .append(" AND n.is_active = true")
+                    .append(" AND ").append(keyResultCondition("n", "o", filter));
+            case ACTION_ITEM -> {
+                sql.append(objectivePredicates("o", filter))
+                        .append(" AND k.is_active = true")
+                        .append(" AND ").append(keyResultCondition("k", "o", filter))
+                        .append(actionItemPredicates("n", filter));
+                if (filter.hasAssignee()) {
+                    sql.append(" AND (LOWER(o.assignee) = :assignee OR LOWER(k.assignee) = :assignee OR LOWER(n.assignee) = :assignee)");
+                }
+            }
+            default -> throw new IllegalArgumentException("Filtering is not supported for " + level.getTypeName());
+        }
+        sql.append(" ORDER BY n.id");
+        return jdbcTemplate.query(sql.toString(), params, rowMapper(level));
+    }
+
+    // Predicates on the Objective itself (alias o)
+    private static String objectivePredicates(String o, HierarchyFilter filter) {
+        StringBuilder sql = new StringBuilder(" AND " + o + ".is_active = true");
+        if (filter.year() != null) sql.append(" AND ").append(o).append(".year = :year");
+        if (filter.quarter() != null) sql.append(" AND ").append(o).append(".quarter = :quarter");
+        if (filter.minProgress() != null) sql.append(" AND ").append(o).append(".progress >= :minProgress");
+        if (filter.maxProgress() != null) sql.append(" AND ").append(o).append(".progress <= :maxProgress");
+        return sql.toString();
+    }
+
+    // Predicates on an Action Item (alias a)
+    private static String actionItemPredicates(String a, HierarchyFilter filter) {
+        StringBuilder sql = new StringBuilder(" AND " + a + ".is_active = true");
+        if (filter.dueFrom() != null) sql.append(" AND ").append(a).append(".due_date >= :dueFrom");
+        if (filter.dueTo() != null) sql.append(" AND ").append(a).append(".due_date <= :dueTo");
+        if (filter.isCompleted() != null) sql.append(" AND ").append(a).append(".is_completed = :isCompleted");
+        return sql.toString();
+    }
+
+    // An Objective (alias o) qualifies if it is in the assignee's scope or has a qualifying Key Result
+    private static String objectiveCondition(String o, HierarchyFilter filter) {
+        if (!filter.hasAssignee() && !filter.hasActionItemPredicates()) {
+            return "TRUE";
+        }
+        String hasKeyResult = "EXISTS (SELECT 1 FROM key_result kx WHERE kx.objective_id = " + o + ".id"
+                + " AND kx.is_active = true AND " + keyResultCondition("kx", o, filter) + ")";
+        if (filter.hasActionItemPredicates()) {
+            return hasKeyResult;
+        }
+        return "(LOWER(" + o + ".assignee) = :assignee OR " + hasKeyResult + ")";
+    }
+
+    // A Key Result (alias k, parent Objective alias o) qualifies if it is in the assignee's scope
+    // (and has a matching Action Item when Action Item predicates are set), or if one of the
+    // assignee's own Action Items matches
+    private static String keyResultCondition(String k, String o, HierarchyFilter filter) {
+        String matchingItem = "EXISTS (SELECT 1 FROM action_item ax WHERE ax.key_result_id = " + k + ".id"
+                + actionItemPredicates("ax", filter);
+        if (!filter.hasAssignee()) {
+            return filter.hasActionItemPredicates() ? matchingItem + ")" : "TRUE";
+        }
+        String inScope = "(LOWER(" + o + ".assignee) = :assignee OR LOWER(" + k + ".assignee) = :assignee)";
+        String scoped = filter.hasActionItemPredicates() ? inScope + " AND " + matchingItem + ")" : inScope;
+        return "((" + scoped + ") OR " + matchingItem + " AND LOWER(ax.assignee) = :assignee))";
+    }
+
+    /**
+     * Load the direct children of one node, ordered by ID.
+     *
+     * @param parentLevel Level of the parent node; must not be ACTION_ITEM.
+     */
+    public List<HierarchyNode> findChildren(HierarchyLevel parentLevel, Long parentId, boolean includeInactive) {
+        HierarchyLevel level = parentLevel.child();
+        String sql = "SELECT " + selectColumns(level)
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE n." + level.getParentColumn() + " = :parentId"
+                + (includeInactive ? "" : " AND n.is_active = true")
+                + " ORDER BY n.id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("parentId", parentId), rowMapper(level));
+    }
+
+    /**
+     * Count the children of every node of parentLevel within the given projects.
+     *
+     * @return parent ID -> number of children; parents without children are absent
+     */
+    public Map<Long, Integer> countChildrenByProjects(HierarchyLevel parentLevel, Collection<Long> projectIds, boolean includeInactive) {
+        HierarchyLevel level = parentLevel.child();
+        if (level == null || projectIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT n." + level.getParentColumn() + " AS parent_id, COUNT(*) AS child_count"
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE " + projectColumn(level) + " IN (:projectIds)"
+                + (includeInactive ? "" : " AND n.is_active = true")
+                + " GROUP BY n." + level.getParentColumn();
+        return queryCounts(sql, new MapSqlParameterSource("projectIds", projectIds));
+    }
+
+    /**
+     * Count the children of every direct child of one node (i.e. its grandchildren, grouped by child).
+     */
+    public Map<Long, Integer> countGrandchildren(HierarchyLevel parentLevel, Long parentId, boolean includeInactive) {
+        HierarchyLevel childLevel = parentLevel.child();
+        HierarchyLevel level = childLevel != null ? childLevel.child() : null;
+        if (level == null) {
+            return Map.of();
+        }
+        String active = includeInactive ? "" : " AND n.is_active = true";
+        String sql = "SELECT n." + level.getParentColumn() + " AS parent_id, COUNT(*) AS child_count"
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE n." + level.getParentColumn() + " IN ("
+                + "SELECT c.id FROM " + childLevel.getTableName() + " c WHERE c." + childLevel.getParentColumn() + " = :parentId)"
+                + active
+                + " GROUP BY n." + level.getParentColumn();
+        return queryCounts(sql, new MapSqlParameterSource("parentId", parentId));
+    }
+
+    /**
+     * Resolve the project a node belongs to.
+     *
+     * @return the project ID, or empty if the node does not exist
+     */
+    public Optional<Long> findProjectId(HierarchyLevel level, Long id) {
+        String sql = "SELECT " + projectColumn(level) + " FROM " + level.getTableName() + " n"
+                + " WHERE n.id = :id";
+        List<Long> result = jdbcTemplate.queryForList(sql, new MapSqlParameterSource("id", id), Long.class);
+        return result.stream().findFirst();
+    }
+
+    /**
+     * Resolve the projects of several nodes of one level in one query.
+     *
+     * @return node ID to project ID; IDs that do not exist are missing from the map
+     */
+    public Map<Long, Long> findProjectIds(HierarchyLevel level, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT n.id, " + projectColumn(level) + " AS project_id FROM " + level.getTableName() + " n"
+                + " WHERE n.id IN (:ids)";
+        Map<Long, Long> projectIds = new HashMap<>();
+        jdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), rs -> {
+            projectIds.put(rs.getLong("id"), rs.getLong("project_id"));
+        });
+        return projectIds;
+    }
+
+    /**
+     * Stream the titles of all active nodes of one level, optionally restricted to one project.
+     * Rows are handed to the callback as they are read (fetch size 1000), so a full-table scan never
+     * materializes the table in memory. Call inside a transaction for PostgreSQL to honour the fetch size.
+     */
+    public void streamTitles(HierarchyLevel level, Long projectId, TitleRowCallback callback) {
+        String sql = "SELECT n.id, " + projectColumn(level) + " AS project_id, n.title"
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE n.is_active = true AND n.title IS NOT NULL"
+                + (projectId != null ? " AND " + projectColumn(level) + " = ?" : "");
+        jdbcTemplate.getJdbcOperations().query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            if (projectId != null) {
+                ps.setLong(1, projectId);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> callback.accept(rs.getLong("id"), rs.getLong("project_id"), rs.getString("title")));
+    }
+
+    @FunctionalInterface
+    public interface TitleRowCallback {
+        void accept(long id, long projectId, String title);
+    }
+
+    /**
+     * Streams (id, project id, progress) of every active node of a level in ascending id order, without
+     * materializing the result. Used by the nightly progress snapshot.
+     */
+    public void streamProgress(HierarchyLevel level, ProgressRowCallback callback) {
+        String sql = "SELECT n.id, " + projectColumn(level) + " AS project_id, n.progress"
+                + " FROM " + level.getTableName() + " n"
+                + " WHERE n.is_active = true"
+                + " ORDER BY n.id";
+        jdbcTemplate.getJdbcOperations().query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> callback.accept(rs.getLong("id"), rs.getLong("project_id"), rs.getInt("progress")));
+    }
+
+    @FunctionalInterface
+    public interface ProgressRowCallback {
+        void accept(long id, long projectId, int progress);
+    }
+
+    private Map<Long, Integer> queryCounts(String sql, MapSqlParameterSource params) {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            counts.put(rs.getLong("parent_id"), rs.getInt("child_count"));
+        });
+        return counts;
+    }
+
+    // --- SQL fragments ---
+
+    /**
+     * Column list for a level, aliased to the common HierarchyNode shape.
+     * Columns a level does not have are selected as NULL.
+     */
+    static String selectColumns(HierarchyLevel level) {
+        String parent = level.getParentColumn() != null ? "n." + level.getParentColumn() : "NULL";
+        String common = "n.id, " + parent + " AS parent_id, n.title, n.description, n.progress, n.is_active, ";
+        return common + switch (level) {
+            case OBJECTIVE -> "n.assignee, n.year, n.quarter, n.due_date, NULL AS is_completed";
+            case KEY_RESULT -> "n.assignee, NULL AS year, NULL AS quarter, n.due_date, NULL AS is_completed";
+            case ACTION_ITEM -> "n.assignee, NULL AS year, NULL AS quarter, n.due_date, n.is_completed";
+            default -> "NULL AS assignee, NULL AS year, NULL AS quarter, CAST(NULL AS DATE) AS due_date, NULL AS is_completed";
+        };
+    }
+
+    /**
+     * Column holding a level's project ID. Every level below Project carries a denormalized project_id.
+     */
+    static String projectColumn(HierarchyLevel level) {
+        return level == HierarchyLevel.PROJECT ? "n.id" : "n.project_id";
+    }
+
+    // Ancestor joins used by findMatching: Objective predicates are evaluated on alias o, Key Result ones on k
+    private static String filterJoin(HierarchyLevel level) {
+        return switch (level) {
+            case KEY_RESULT -> "JOIN objective o ON o.id = n.objective_id";
+            case ACTION_ITEM -> "JOIN key_result k ON k.id = n.key_result_id "
+                    + "JOIN objective o ON o.id = k.objective_id";
+            default -> "";
+        };
+    }
+
+    static RowMapper<HierarchyNode> rowMapper(HierarchyLevel level) {
+        return (rs, rowNum) -> new HierarchyNode(
+                rs.getLong("id"),
+                getLong(rs, "parent_id"),
+                level.getTypeName(),
+                rs.getString("title"),
+                rs.getString("description"),
+                getInteger(rs, "progress"),
+                rs.getString("assignee"),
+                getInteger(rs, "year"),
+                rs.getString("quarter"),
+                rs.getObject("due_date", LocalDate.class),
+                (Boolean) rs.getObject("is_completed"),
+                rs.getBoolean("is_active"),
+                null,
+                List.of()
+        );
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value != null ? ((Number) value).intValue() : null;
+    }
+}
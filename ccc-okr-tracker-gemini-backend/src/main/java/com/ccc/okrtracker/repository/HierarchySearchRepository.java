@@ -0,0 +1,70 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.dto.SearchHit;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.ccc.okrtracker.repository.HierarchyReadRepository.projectColumn;
+
+/**
+ * PostgreSQL full-text search over titles and descriptions of all hierarchy levels.
+ * Relies on the generated search_vector column and the partial GIN index on each table
+ * (see v1.8.0-full-text-search.yaml); title matches are weighted above description matches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HierarchySearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Active nodes of the given levels matching the tsquery, best match first.
+     *
+     * @param tsQuery A to_tsquery('english', ...) expression, e.g. {@code launch:* & beta:*}.
+     */
+    public List<SearchHit> search(String tsQuery, Collection<HierarchyLevel> levels, Collection<Long> projectIds, int limit) {
+        if (levels.isEmpty() || projectIds.isEmpty()) {
+            return List.of();
+        }
+        String union = levels.stream()
+                .map(HierarchySearchRepository::levelQuery)
+                .collect(Collectors.joining(" UNION ALL "));
+        String sql = "WITH q AS (SELECT to_tsquery('english', :query) AS query) "
+                + "SELECT * FROM (" + union + ") hits"
+                + " ORDER BY rank DESC, level_order, id"
+                + " LIMIT :limit";
+
+        MapSqlParameterSource params = new MapSqlParameterSource("query", tsQuery)
+                .addValue("projectIds", projectIds)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            Object parentId = rs.getObject("parent_id");
+            return new SearchHit(
+                    rs.getString("type"),
+                    rs.getLong("id"),
+                    parentId != null ? ((Number) parentId).longValue() : null,
+                    rs.getLong("project_id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    rs.getDouble("rank"),
+                    List.of());
+        });
+    }
+
+    private static String levelQuery(HierarchyLevel level) {
+        String parent = level.getParentColumn() != null ? "n." + level.getParentColumn() : "NULL::bigint";
+        return "SELECT '" + level.getTypeName() + "' AS type, " + level.ordinal() + " AS level_order, n.id, "
+                + parent + " AS parent_id, " + projectColumn(level) + " AS project_id, n.title, n.description,"
+                + " ts_rank(n.search_vector, q.query) AS rank"
+                + " FROM " + level.getTableName() + " n, q"
+                + " WHERE n.is_active = true AND n.search_vector @@ q.query"
+                + " AND " + projectColumn(level) + " IN (:projectIds)";
+    }
+}
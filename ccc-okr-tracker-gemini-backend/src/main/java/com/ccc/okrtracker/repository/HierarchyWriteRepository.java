@@ -0,0 +1,257 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes over whole subtrees, batched bulk updates and subtree copies.
+ * Subtree methods issue one UPDATE per descendant level, selecting the rows through nested
+ * parent-id sub-selects, instead of loading and saving every descendant entity.
+ * These statements bypass the persistence context: callers must not rely on descendant
+ * entities already loaded in the current session afterwards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HierarchyWriteRepository {
+
+    // Shared SET columns of the bulk updates; null parameters keep the stored value
+    private static final String PARTIAL_UPDATE_COLUMNS = "title = COALESCE(:title, title),"
+            + " description = COALESCE(:description, description),"
+            + " assignee = COALESCE(:assignee, assignee),"
+            + " due_date = COALESCE(:dueDate, due_date),"
+            + " updated_by = :user, updated_date = :now";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Soft-delete every active descendant of a node (the node itself is handled by the caller).
+     * Descendants that were already archived keep their original closedBy/closedDate.
+     *
+     * @return number of rows archived
+     */
+    public int archiveDescendants(HierarchyLevel rootLevel, Long rootId, String closedBy, LocalDateTime closedDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("rootId", rootId)
+                .addValue("user", closedBy)
+                .addValue("closedDate", Timestamp.valueOf(closedDate));
+        int updated = 0;
+        for (HierarchyLevel level = rootLevel.child(); level != null; level = level.child()) {
+            updated += jdbcTemplate.update("UPDATE " + level.getTableName()
+                    + " SET is_active = false, closed_by = :user, closed_date = :closedDate,"
+                    + " updated_by = :user, updated_date = :closedDate"
+                    + " WHERE is_active = true AND " + descendantCondition(rootLevel, level), params);
+        }
+        return updated;
+    }
+
+    /**
+     * Restore the descendants of a node that were archived together with it or later, i.e. whose
+     * closed_date is not before the node's own. Descendants archived on their own beforehand stay archived.
+     *
+     * @param rootClosedDate closed_date of the node before it was restored
+     * @return number of rows restored
+     */
+    public int restoreDescendants(HierarchyLevel rootLevel, Long rootId, LocalDateTime rootClosedDate, String user) {
+        MapSqlParameterSource params = new MapSqlParameterSource("rootId", rootId)
+                .addValue("user", user)
+                .addValue("since", Timestamp.valueOf(rootClosedDate))
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        int updated = 0;
+        for (HierarchyLevel level = rootLevel.child(); level != null; level = level.child()) {
+            updated += jdbcTemplate.update("UPDATE " + level.getTableName()
+                    + " SET is_active = true, closed_by = NULL, closed_date = NULL,"
+                    + " updated_by = :user, updated_date = :now"
+                    + " WHERE is_active = false AND closed_date >= :since AND " + descendantCondition(rootLevel, level), params);
+        }
+        return updated;
+    }
+
+    /**
+     * Partial Key Result update; null fields are left unchanged. A non-null progress also marks the
+     * progress as manually set, so callers pass it only when the value actually changes.
+     */
+    public record KeyResultUpdate(long id, String title, String description, String assignee,
+                                  LocalDate dueDate, Integer progress) {
+    }
+
+    /**
+     * Partial Action Item update; null fields are left unchanged. progress and isCompleted are the
+     * already reconciled values (see HierarchyService.updateActionItem); when both are null, isCompleted
+     * is re-derived from the stored progress.
+     */
+    public record ActionItemUpdate(long id, String title, String description, String assignee,
+                                   LocalDate dueDate, Integer progress, Boolean isCompleted) {
+    }
+
+    /**
+     * Apply Key Result updates as one JDBC batch.
+     */
+    public void updateKeyResults(List<KeyResultUpdate> updates, String user, LocalDateTime now) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = updates.stream()
+                .map(update -> partialUpdateParams(update.id(), update.title(), update.description(),
+                        update.assignee(), update.dueDate(), user, now)
+                        .addValue("progress", update.progress(), Types.INTEGER))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("UPDATE key_result SET " + PARTIAL_UPDATE_COLUMNS + ","
+                + " progress = COALESCE(:progress, progress),"
+                + " manual_progress_set = CASE WHEN :progress IS NULL THEN manual_progress_set ELSE true END"
+                + " WHERE id = :id", batch);
+    }
+
+    /**
+     * Apply Action Item updates as one JDBC batch. Like a single update, isCompleted follows the
+     * resulting progress: true at 100, false below.
+     */
+    public void updateActionItems(List<ActionItemUpdate> updates, String user, LocalDateTime now) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = updates.stream()
+                .map(update -> partialUpdateParams(update.id(), update.title(), update.description(),
+                        update.assignee(), update.dueDate(), user, now)
+                        .addValue("progress", update.progress(), Types.INTEGER)
+                        .addValue("isCompleted", update.isCompleted(), Types.BOOLEAN))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("UPDATE action_item SET " + PARTIAL_UPDATE_COLUMNS + ","
+                + " progress = COALESCE(:progress, progress),"
+                + " is_completed = CASE WHEN COALESCE(:progress, progress) = 100 THEN true"
+                + " WHEN COALESCE(:progress, progress) < 100 THEN false"
+                + " ELSE COALESCE(:isCompleted, is_completed) END"
+                + " WHERE id = :id", batch);
+    }
+
+    /**
+     * Hand the parent Key Results of the given Action Items back to calculated progress.
+     */
+    public int unlockParentKeyResults(Collection<Long> actionItemIds) {
+        if (actionItemIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("UPDATE key_result SET manual_progress_set = false"
+                + " WHERE id IN (SELECT key_result_id FROM action_item WHERE id IN (:ids))",
+                new MapSqlParameterSource("ids", actionItemIds));
+    }
+
+    private static MapSqlParameterSource partialUpdateParams(long id, String title, String description, String assignee,
+                                                             LocalDate dueDate, String user, LocalDateTime now) {
+        return new MapSqlParameterSource("id", id)
+                .addValue("title", title, Types.VARCHAR)
+                .addValue("description", description, Types.VARCHAR)
+                .addValue("assignee", assignee, Types.VARCHAR)
+                .addValue("dueDate", dueDate, Types.DATE)
+                .addValue("user", user)
+                .addValue("now", Timestamp.valueOf(now));
+    }
+
+    // --- Subtree clone ---
+
+    /**
+     * One node to copy: its ID, its parent's ID and the copied column values (see cloneColumns()).
+     */
+    public record CloneRow(long id, Long parentId, Map<String, Object> values) {
+    }
+
+    /**
+     * The active rows of one level inside a subtree, in ID order. For level == rootLevel this is the root itself.
+     */
+    public List<CloneRow> findCloneRows(HierarchyLevel rootLevel, Long rootId, HierarchyLevel level) {
+        String sql = "SELECT id, " + level.getParentColumn() + " AS parent_id, " + String.join(", ", cloneColumns(level))
+                + " FROM " + level.getTableName()
+                + " WHERE is_active = true AND " + (level == rootLevel ? "id = :rootId" : descendantCondition(rootLevel, level))
+                + " ORDER BY id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("rootId", rootId), (rs, rowNum) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String column : cloneColumns(level)) {
+                values.put(column, column.equals("due_date") ? rs.getObject(column, LocalDate.class) : rs.getObject(column));
+            }
+            return new CloneRow(rs.getLong("id"), rs.getObject("parent_id", Long.class), values);
+        });
+    }
+
+    /**
+     * Reserve IDs from the table's identity sequence in one round trip, so that children can reference
+     * their new parents before anything is inserted.
+     */
+    public List<Long> allocateIds(HierarchyLevel level, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT nextval(pg_get_serial_sequence(:table, 'id')) FROM generate_series(1, :count)",
+                new MapSqlParameterSource("table", level.getTableName()).addValue("count", count), Long.class);
+    }
+
+    /**
+     * Insert copies as one JDBC batch; row IDs and parent IDs must already be the new ones.
+     */
+    public void insertClones(HierarchyLevel level, List<CloneRow> rows, Long projectId, String user, LocalDateTime now) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = cloneColumns(level);
+        String sql = "INSERT INTO " + level.getTableName() + " (id, " + level.getParentColumn() + ", project_id, "
+                + String.join(", ", columns) + ", is_active, created_by, created_date, updated_by, updated_date)"
+                + " VALUES (:id, :parentId, :projectId, :" + String.join(", :", columns)
+                + ", true, :user, :now, :user, :now)";
+        Timestamp timestamp = Timestamp.valueOf(now);
+        MapSqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource(row.values())
+                        .addValue("id", row.id())
+                        .addValue("parentId", row.parentId())
+                        .addValue("projectId", projectId)
+                        .addValue("user", user)
+                        .addValue("now", timestamp))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    // Copied columns per level; audit columns are set fresh and project_id comes from the target
+    private static List<String> cloneColumns(HierarchyLevel level) {
+        return switch (level) {
+            case GOAL -> List.of("title", "description", "progress");
+            case OBJECTIVE -> List.of("title", "description", "progress", "assignee", "year", "quarter", "due_date");
+            case KEY_RESULT -> List.of("title", "description", "progress", "assignee", "due_date", "manual_progress_set");
+            case ACTION_ITEM -> List.of("title", "description", "progress", "assignee", "due_date", "is_completed");
+            default -> throw new IllegalArgumentException("Cloning is not supported for " + level.getTypeName());
+        };
+    }
+
+    /**
+     * Whether the direct parent of a node is active. Projects have no parent and always return true.
+     */
+    public boolean isParentActive(HierarchyLevel level, Long id) {
+        HierarchyLevel parent = level.parent();
+        if (parent == null) {
+            return true;
+        }
+        String sql = "SELECT p.is_active FROM " + level.getTableName() + " n"
+                + " JOIN " + parent.getTableName() + " p ON p.id = n." + level.getParentColumn()
+                + " WHERE n.id = :id";
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource("id", id), Boolean.class).stream()
+                .findFirst().orElse(true);
+    }
+
+    // WHERE fragment selecting the rows of 'level' below the root, e.g. for Objective under Project:
+    // goal_id IN (SELECT id FROM goal WHERE initiative_id IN (SELECT id FROM strategic_initiative WHERE project_id = :rootId))
+    private static String descendantCondition(HierarchyLevel rootLevel, HierarchyLevel level) {
+        HierarchyLevel parent = level.parent();
+        if (parent == rootLevel) {
+            return level.getParentColumn() + " = :rootId";
+        }
+        return level.getParentColumn() + " IN (SELECT id FROM " + parent.getTableName()
+                + " WHERE " + descendantCondition(rootLevel, parent) + ")";
+    }
+}
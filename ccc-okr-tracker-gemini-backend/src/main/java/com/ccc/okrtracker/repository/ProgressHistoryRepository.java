@@ -0,0 +1,167 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only progress time series (see v1.10.0-progress-history.yaml).
+ * On PostgreSQL the table is range-partitioned by month; the partition DDL lives here as well.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProgressHistoryRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("progress_history_y(\\d{4})m(\\d{2})");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * A node's rolled-up progress after a recalculation changed it.
+     */
+    public record ProgressChange(HierarchyLevel level, long nodeId, int progress) {
+    }
+
+    /**
+     * One downsampled bucket: the last recorded value plus the range seen inside the bucket.
+     */
+    public record BucketRow(LocalDateTime bucketStart, int last, int min, int max, int samples) {
+    }
+
+    public void append(Collection<ProgressChange> changes, LocalDateTime recordedAt) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(recordedAt);
+        SqlParameterSource[] batch = changes.stream()
+                .map(change -> new MapSqlParameterSource("level", change.level().name())
+                        .addValue("nodeId", change.nodeId())
+                        .addValue("progress", change.progress())
+                        .addValue("recordedAt", timestamp))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO progress_history (level, node_id, progress, recorded_at)"
+                + " VALUES (:level, :nodeId, :progress, :recordedAt)", batch);
+    }
+
+    /**
+     * Series of one node between from (inclusive) and to (exclusive), grouped into date_trunc buckets.
+     * Reads only the partitions overlapping the range, via the (level, node_id, recorded_at) index.
+     *
+     * @param unit A date_trunc unit: day, week or month.
+     */
+    public List<BucketRow> findBuckets(HierarchyLevel level, long nodeId, String unit,
+                                       LocalDateTime from, LocalDateTime to) {
+        String sql = "SELECT date_trunc(:unit, recorded_at) AS bucket,"
+                + " (array_agg(progress ORDER BY recorded_at DESC))[1] AS last_progress,"
+                + " MIN(progress) AS min_progress, MAX(progress) AS max_progress, COUNT(*) AS samples"
+                + " FROM progress_history"
+                + " WHERE level = :level AND node_id = :nodeId AND recorded_at >= :from AND recorded_at < :to"
+                + " GROUP BY 1"
+                + " ORDER BY bucket";
+        MapSqlParameterSource params = new MapSqlParameterSource("unit", unit)
+                .addValue("level", level.name())
+                .addValue("nodeId", nodeId)
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new BucketRow(
+                rs.getTimestamp("bucket").toLocalDateTime(),
+                rs.getInt("last_progress"),
+                rs.getInt("min_progress"),
+                rs.getInt("max_progress"),
+                rs.getInt("samples")));
+    }
+
+    /**
+     * Last value recorded before the given instant, i.e. the progress a series starts from.
+     */
+    public Optional<Integer> findLastBefore(HierarchyLevel level, long nodeId, LocalDateTime before) {
+        String sql = "SELECT progress FROM progress_history"
+                + " WHERE level = :level AND node_id = :nodeId AND recorded_at < :before"
+                + " ORDER BY recorded_at DESC LIMIT 1";
+        MapSqlParameterSource params = new MapSqlParameterSource("level", level.name())
+                .addValue("nodeId", nodeId)
+                .addValue("before", Timestamp.valueOf(before));
+        return jdbcTemplate.queryForList(sql, params, Integer.class).stream().findFirst();
+    }
+
+    // --- Partition maintenance (PostgreSQL) ---
+
+    public boolean isPostgres() {
+        String product = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+    }
+
+    /**
+     * Creates the month's partition unless it exists. Rows of that month already in the default partition
+     * (written while the partition was missing) are moved into it first, since PostgreSQL refuses to attach a
+     * partition whose range the default partition holds rows for. Inserts into progress_history wait meanwhile.
+     *
+     * @return Rows moved out of the default partition.
+     */
+    @Transactional
+    public int createMonthlyPartition(YearMonth month) {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        String name = partitionName(month);
+        if (partitionExists(jdbc, name)) {
+            return 0;
+        }
+        jdbc.execute("LOCK TABLE progress_history IN SHARE ROW EXCLUSIVE MODE");
+        if (partitionExists(jdbc, name)) {
+            // Created by another node while we waited for the lock
+            return 0;
+        }
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        jdbc.execute("CREATE TABLE " + name + " (LIKE progress_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbc.update("WITH moved AS (DELETE FROM progress_history_default"
+                + " WHERE recorded_at >= " + from + " AND recorded_at < " + to + " RETURNING *)"
+                + " INSERT INTO " + name + " SELECT * FROM moved");
+        jdbc.execute("ALTER TABLE progress_history ATTACH PARTITION " + name + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+        return moved;
+    }
+
+    public void dropMonthlyPartition(YearMonth month) {
+        jdbcTemplate.getJdbcTemplate().execute("DROP TABLE IF EXISTS " + partitionName(month));
+    }
+
+    /**
+     * Months that currently have their own partition (the default partition is not included).
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        String sql = "SELECT c.relname FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid"
+                + " JOIN pg_class p ON p.oid = i.inhparent"
+                + " WHERE p.relname = 'progress_history'";
+        return jdbcTemplate.getJdbcTemplate().queryForList(sql, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    private static boolean partitionExists(JdbcTemplate jdbc, String name) {
+        return Boolean.TRUE.equals(jdbc.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("progress_history_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,113 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Daily progress snapshots, one row per date and hierarchy level (see v1.11.0-progress-snapshots.yaml);
+ * level is stored as the HierarchyLevel name.
+ * The three array columns are opaque here; ProgressSnapshotService encodes and decodes them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProgressSnapshotRepository {
+
+    // Transaction-level advisory lock key of snapshot captures; any fixed value not used by another lock
+    private static final long CAPTURE_LOCK_KEY = 0x6f6b72736e6170L;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record SnapshotRow(HierarchyLevel level, int nodeCount, byte[] nodeIds, byte[] projectIds, byte[] progress) {
+    }
+
+    /**
+     * One snapshot date with its total node count over all levels.
+     */
+    public record SnapshotSummary(LocalDate date, int nodeCount, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Takes the capture lock until the current transaction ends, so that only one application node captures at a
+     * time; false if another transaction holds it. Outside PostgreSQL (H2, a single node) it always succeeds.
+     */
+    public boolean tryLockCapture() {
+        String product = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("postgresql")) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(:key)",
+                new MapSqlParameterSource("key", CAPTURE_LOCK_KEY), Boolean.class));
+    }
+
+    /**
+     * Replaces the snapshot of a date: existing rows for that date are deleted first.
+     */
+    public void replace(LocalDate date, List<SnapshotRow> rows, LocalDateTime createdAt) {
+        MapSqlParameterSource dateParam = new MapSqlParameterSource("date", date);
+        jdbcTemplate.update("DELETE FROM progress_snapshot WHERE snapshot_date = :date", dateParam);
+        MapSqlParameterSource[] batch = rows.stream()
+                .map(row -> new MapSqlParameterSource("date", date)
+                        .addValue("level", row.level().name())
+                        .addValue("nodeCount", row.nodeCount())
+                        .addValue("nodeIds", row.nodeIds())
+                        .addValue("projectIds", row.projectIds())
+                        .addValue("progress", row.progress())
+                        .addValue("createdAt", Timestamp.valueOf(createdAt)))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO progress_snapshot"
+                + " (snapshot_date, level, node_count, node_ids, project_ids, progress, created_at)"
+                + " VALUES (:date, :level, :nodeCount, :nodeIds, :projectIds, :progress, :createdAt)", batch);
+    }
+
+    public Optional<SnapshotRow> find(LocalDate date, HierarchyLevel level) {
+        String sql = "SELECT level, node_count, node_ids, project_ids, progress FROM progress_snapshot"
+                + " WHERE snapshot_date = :date AND level = :level";
+        MapSqlParameterSource params = new MapSqlParameterSource("date", date)
+                .addValue("level", level.name());
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new SnapshotRow(
+                HierarchyLevel.valueOf(rs.getString("level")),
+                rs.getInt("node_count"),
+                rs.getBytes("node_ids"),
+                rs.getBytes("project_ids"),
+                rs.getBytes("progress"))).stream().findFirst();
+    }
+
+    public boolean exists(LocalDate date) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM progress_snapshot WHERE snapshot_date = :date",
+                new MapSqlParameterSource("date", date), Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Snapshot dates between from and to (both inclusive), newest first.
+     */
+    public List<SnapshotSummary> findSummaries(LocalDate from, LocalDate to) {
+        String sql = "SELECT snapshot_date, SUM(node_count) AS node_count, MAX(created_at) AS created_at"
+                + " FROM progress_snapshot"
+                + " WHERE snapshot_date >= :from AND snapshot_date <= :to"
+                + " GROUP BY snapshot_date"
+                + " ORDER BY snapshot_date DESC";
+        MapSqlParameterSource params = new MapSqlParameterSource("from", from).addValue("to", to);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new SnapshotSummary(
+                rs.getObject("snapshot_date", LocalDate.class),
+                rs.getInt("node_count"),
+                rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    public int deleteBefore(LocalDate date) {
+        return jdbcTemplate.update("DELETE FROM progress_snapshot WHERE snapshot_date < :date",
+                new MapSqlParameterSource("date", date));
+    }
+}
@@ -22,4 +22,8 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     // Find all active projects
     List<Project> findByIsActiveTrue();
+
+    // IDs of all projects, including archived ones
+    @Query("SELECT p.id FROM Project p")
+    List<Long> findAllIds();
 }
\ No newline at end of file
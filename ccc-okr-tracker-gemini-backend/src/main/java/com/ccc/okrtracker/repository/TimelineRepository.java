@@ -0,0 +1,82 @@
+package com.ccc.okrtracker.repository;
+
+import com.ccc.okrtracker.dto.TimelineItem;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Dated Objectives, Key Results and Action Items inside a date window, one query per level.
+ * Every query filters on an active, dated row and orders by (due_date, id) within a project, which
+ * is the partial timeline index on each table (see v1.9.0-timeline.yaml).
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimelineRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Load active rows of one level due between from and to (inclusive) that sort after the given cursor.
+     * Across levels, rows due on the same day are ordered by level (Objective first), so a level above the
+     * cursor's level must be due strictly later and a level below may share the cursor's date.
+     *
+     * @param after Last item of the previous page, or null for the first page.
+     */
+    public List<TimelineItem> findDue(HierarchyLevel level, Collection<Long> projectIds, LocalDate from, LocalDate to,
+                                      TimelineItem after, int limit) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("projectIds", projectIds)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT n.id, n.").append(level.getParentColumn()).append(" AS parent_id,")
+                .append(" n.project_id, n.title, n.progress, n.assignee, n.due_date, ").append(levelColumns(level))
+                .append(" FROM ").append(level.getTableName()).append(" n")
+                .append(" WHERE n.is_active = true AND n.project_id IN (:projectIds)")
+                .append(" AND n.due_date BETWEEN :from AND :to");
+
+        if (after != null) {
+            params.addValue("afterDate", after.dueDate());
+            int cmp = level.compareTo(HierarchyLevel.fromType(after.type()));
+            if (cmp < 0) {
+                sql.append(" AND n.due_date > :afterDate");
+            } else if (cmp > 0) {
+                sql.append(" AND n.due_date >= :afterDate");
+            } else {
+                params.addValue("afterId", after.id());
+                sql.append(" AND (n.due_date > :afterDate OR (n.due_date = :afterDate AND n.id > :afterId))");
+            }
+        }
+        sql.append(" ORDER BY n.due_date, n.id LIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new TimelineItem(
+                level.getTypeName(),
+                rs.getLong("id"),
+                rs.getLong("parent_id"),
+                rs.getLong("project_id"),
+                rs.getString("title"),
+                rs.getObject("progress", Integer.class),
+                rs.getString("assignee"),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getObject("year", Integer.class),
+                rs.getString("quarter"),
+                rs.getObject("is_completed", Boolean.class)));
+    }
+
+    private static String levelColumns(HierarchyLevel level) {
+        return switch (level) {
+            case OBJECTIVE -> "n.year, n.quarter, CAST(NULL AS BOOLEAN) AS is_completed";
+            case ACTION_ITEM -> "CAST(NULL AS INTEGER) AS year, CAST(NULL AS VARCHAR) AS quarter, n.is_completed";
+            default -> "CAST(NULL AS INTEGER) AS year, CAST(NULL AS VARCHAR) AS quarter, CAST(NULL AS BOOLEAN) AS is_completed";
+        };
+    }
+}
@@ -1,11 +1,18 @@
 package com.ccc.okrtracker.repository;
 
+import com.ccc.okrtracker.dto.UserDirectoryEntry;
+import com.ccc.okrtracker.config.SecondLevelCacheConfig;
 import com.ccc.okrtracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional; // ADDED Import
 
 @Repository
@@ -14,10 +21,56 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // But specific queries can be added here
 
     // UPDATED: Case-insensitive email lookup
+    // Both lookups run on every authenticated request, so their results are kept in the query cache
     @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<User> findByEmail(@Param("email") String email);
     
     // Case-insensitive login lookup
     @Query("SELECT u FROM User u WHERE LOWER(u.login) = LOWER(:login)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUP_REGION)
+    })
     Optional<User> findByLogin(@Param("login") String login);
-}
\ No newline at end of file
+
+    // Active users with their (eager) roles, for the startup warm-up
+    List<User> findByIsActiveTrue();
+
+    List<User> findByIsActiveTrue(Pageable page);
+
+    // --- User directory (assignee pickers) ---
+    // Keyset pagination on the unique login column: pass the last login of the previous page
+    // as afterLogin ("" for the first page). Page size comes from the Pageable, offset is always 0.
+
+    @Query("""
+        SELECT new com.ccc.okrtracker.dto.UserDirectoryEntry(
+            u.id, u.firstName, u.lastName, u.email, u.login, u.avatar, u.groupNo)
+        FROM User u
+        WHERE u.isActive = true
+          AND u.login > :afterLogin
+        ORDER BY u.login ASC
+    """)
+    List<UserDirectoryEntry> findActiveDirectoryPage(@Param("afterLogin") String afterLogin, Pageable page);
+
+    // Prefix must already be lower-cased, LIKE-escaped and terminated with '%'.
+    // Each branch is served by a lower(...) text_pattern_ops partial index (see v1.4.0 changelog).
+    @Query("""
+        SELECT new com.ccc.okrtracker.dto.UserDirectoryEntry(
+            u.id, u.firstName, u.lastName, u.email, u.login, u.avatar, u.groupNo)
+        FROM User u
+        WHERE u.isActive = true
+          AND (LOWER(u.login) LIKE :prefix ESCAPE '\\'
+               OR LOWER(u.email) LIKE :prefix ESCAPE '\\'
+               OR LOWER(u.firstName) LIKE :prefix ESCAPE '\\'
+               OR LOWER(u.lastName) LIKE :prefix ESCAPE '\\')
+          AND u.login > :afterLogin
+        ORDER BY u.login ASC
+    """)
+    List<UserDirectoryEntry> searchActiveDirectoryPage(@Param("prefix") String prefix,
+                                                       @Param("afterLogin") String afterLogin,
+                                                       Pageable page);
+}
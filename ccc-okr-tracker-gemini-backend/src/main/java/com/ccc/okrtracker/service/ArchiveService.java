@@ -0,0 +1,102 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.ArchivedItem;
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.repository.ArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recycle Bin listing across all hierarchy levels.
+ * Each requested level is read with its own index-ordered query (at most limit rows each)
+ * and the results are merged in memory into one (closedDate DESC, level, id DESC) ordered page.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchiveService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Newest first; at equal timestamps parents come before children, then newest ID first
+    private static final Comparator<ArchivedItem> ARCHIVE_ORDER = Comparator
+            .comparing(ArchivedItem::closedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(item -> HierarchyLevel.fromType(item.type()))
+            .thenComparing(ArchivedItem::id, Comparator.reverseOrder());
+
+    private final ArchiveRepository archiveRepo;
+    private final HierarchyService hierarchyService;
+
+    /**
+     * One keyset page of archived items.
+     *
+     * @param types     Levels to include (type names or URL segments); null or empty means all levels.
+     * @param projectId Restrict to one accessible project, or null for all accessible projects.
+     * @param after     nextCursor of the previous page, or null for the first page.
+     * @param limit     Page size, clamped to 1..100.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ArchivedItem> getArchivedPage(Collection<String> types, Long projectId, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ArchivedItem cursor = after != null && !after.isBlank() ? decodeCursor(after) : null;
+        List<ArchivedItem> items = load(types, projectId, cursor, pageSize);
+        return KeysetPage.of(items, pageSize, ArchiveService::encodeCursor);
+    }
+
+    /**
+     * All archived items in archive order, unpaginated.
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedItem> getAllArchived() {
+        return load(null, null, null, null);
+    }
+
+    private List<ArchivedItem> load(Collection<String> types, Long projectId, ArchivedItem cursor, Integer limit) {
+        Set<Long> projectIds = hierarchyService.getAccessibleProjectIdsIncludingArchived();
+        if (projectId != null) {
+            if (!projectIds.contains(projectId)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+            projectIds = Set.of(projectId);
+        }
+
+        List<ArchivedItem> merged = new ArrayList<>();
+        for (HierarchyLevel level : HierarchyLevel.fromTypes(types)) {
+            merged.addAll(archiveRepo.findArchived(level, projectIds, cursor, limit));
+        }
+        merged.sort(ARCHIVE_ORDER);
+        return limit != null && merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    // Cursor is an opaque URL-safe token of "closedDate|type|id" taken from the last item of a page;
+    // closedDate is empty for rows archived without one, which sort last
+    private static String encodeCursor(ArchivedItem item) {
+        String raw = (item.closedDate() != null ? item.closedDate().toString() : "") + "|" + item.type() + "|" + item.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ArchivedItem decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid archive cursor");
+            }
+            return new ArchivedItem(HierarchyLevel.fromType(parts[1]).getTypeName(), Long.valueOf(parts[2]),
+                    null, null, null, null, parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid archive cursor", e);
+        }
+    }
+}
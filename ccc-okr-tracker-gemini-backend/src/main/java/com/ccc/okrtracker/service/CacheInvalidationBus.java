@@ -0,0 +1,57 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.event.CacheInvalidation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Carries CacheInvalidation messages between the application nodes sharing one database. The implementation is
+ * chosen with app.cache.invalidation-bus: LocalCacheInvalidationBus (in-JVM, the default) for a single node,
+ * PostgresCacheInvalidationBus (LISTEN/NOTIFY) for several.
+ *
+ * Subscribers run on the bus's thread and must be quick; they receive their own node's messages as well
+ * (see CacheInvalidation.isRemote()) and a CacheInvalidation.resync() when messages may have been lost.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Delivers the message to the subscribers on every node, this one included. Call after commit.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+
+    /**
+     * Publishes once the current transaction has committed (nothing on rollback), or right away outside a
+     * transaction. Messages of one transaction are de-duplicated.
+     */
+    default void publishAfterCommit(CacheInvalidation invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(invalidation);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<CacheInvalidation> pending = (Set<CacheInvalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<CacheInvalidation> batch = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    batch.forEach(CacheInvalidationBus.this::publish);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(invalidation);
+    }
+}
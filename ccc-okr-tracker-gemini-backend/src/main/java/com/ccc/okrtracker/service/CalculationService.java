@@ -3,7 +3,11 @@
 package com.ccc.okrtracker.service;
 
 import com.ccc.okrtracker.entity.*;
+import com.ccc.okrtracker.monitoring.OkrMetrics;
+import com.ccc.okrtracker.monitoring.OkrMetrics.RollupPhase;
+import com.ccc.okrtracker.monitoring.RollupActivity;
 import com.ccc.okrtracker.repository.*;
+import com.ccc.okrtracker.repository.ProgressHistoryRepository.ProgressChange;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
@@ -12,7 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,16 +31,25 @@ public class CalculationService {
     private final ObjectiveRepository objectiveRepository;
     private final GoalRepository goalRepository;
     private final StrategicInitiativeRepository initiativeRepository;
+    private final ProgressHistoryRepository progressHistoryRepository;
     private final EntityManager entityManager;
-
-    // Helper to safely extract Integer progress, defaulting to 0 if null
-    private int safeProgress(Integer progress) {
-        return Optional.ofNullable(progress).orElse(0);
-    }
+    private final OkrMetrics metrics;
+    private final RollupActivity rollups;
 
     @Transactional
     public void recalculateProject(Long projectId) {
+        long ticket = rollups.begin();
+        try {
+            recalculate(projectId);
+        } finally {
+            rollups.end(ticket);
+        }
+    }
+
+    private void recalculate(Long projectId) {
         logger.debug("Recalculate project start: projectId={}", projectId);
+        long[] phaseNanos = new long[RollupPhase.values().length];
+        long started = System.nanoTime();
         
         // Synchronize any pending changes to database before refreshing
         try {
@@ -42,109 +57,54 @@ public class CalculationService {
         } catch (Exception e) {
             logger.warn("Failed to flush before recalculation, continuing anyway: {}", e.getMessage());
         }
+        started = lap(phaseNanos, RollupPhase.FLUSH, started);
         
         // Fetch project (benefits from L1 cache or batch fetching)
         Project project = projectRepository.findById(projectId).orElseThrow();
         
         // Refresh the entity to get fresh data without clearing the entire persistence context
         entityManager.refresh(project);
+        started = lap(phaseNanos, RollupPhase.REFRESH, started);
 
         // Force initialization of lazy collections at all levels
         // With @BatchSize(50), these will batch-load instead of N+1
         Hibernate.initialize(project.getInitiatives());
+        int nodes = 1 + project.getInitiatives().size();
         
         for (StrategicInitiative init : project.getInitiatives()) {
             Hibernate.initialize(init.getGoals());
+            nodes += init.getGoals().size();
             for (Goal goal : init.getGoals()) {
                 Hibernate.initialize(goal.getObjectives());
+                nodes += goal.getObjectives().size();
                 for (Objective obj : goal.getObjectives()) {
                     Hibernate.initialize(obj.getKeyResults());
+                    nodes += obj.getKeyResults().size();
                     for (KeyResult kr : obj.getKeyResults()) {
                         Hibernate.initialize(kr.getActionItems());
+                        nodes += kr.getActionItems().size();
                     }
                 }
             }
         }
+        started = lap(phaseNanos, RollupPhase.INITIALIZE, started);
         
         // Calculate progress bottom-up
         // All entities are managed by Hibernate within this @Transactional method,
         // so setProgress() will be auto-flushed at commit — no individual save() needed.
-        int projTotal = 0;
-        int initCount = 0;
-
-        for (StrategicInitiative init : project.getInitiatives()) {
-            if (!init.getIsActive()) continue;
-
-            int initTotal = 0;
-            int goalCount = 0;
-
-            for (Goal goal : init.getGoals()) {
-                if (!goal.getIsActive()) continue;
-
-                int goalTotal = 0;
-                int objCount = 0;
-
-                for (Objective obj : goal.getObjectives()) {
-                    if (!obj.getIsActive()) continue;
-
-                    int objTotal = 0;
-                    int krCount = 0;
-
-                    for (KeyResult kr : obj.getKeyResults()) {
-                        if (!kr.getIsActive()) continue;
-
-                        int krProgress = 0;
-                        boolean manuallySet = kr.getManualProgressSet() != null && kr.getManualProgressSet();
-                        
-                        if (manuallySet) {
-                            krProgress = safeProgress(kr.getProgress());
-                        } else {
-                            long activeAiCount = kr.getActionItems().stream()
-                                    .filter(ai -> ai != null)
-                                    .filter(BaseEntity::getIsActive)
-                                    .count();
-
-                            if (activeAiCount > 0) {
-                                double aiSum = kr.getActionItems().stream()
-                                        .filter(ai -> ai != null)
-                                        .filter(BaseEntity::getIsActive)
-                                        .mapToInt(ai -> safeProgress(ai.getProgress()))
-                                        .sum();
-                                krProgress = (int) Math.min(100, Math.round(aiSum / activeAiCount));
-                            } else if (kr.getActionItems().stream().anyMatch(ai -> ai != null)) {
-                                krProgress = 0;
-                            } else {
-                                krProgress = safeProgress(kr.getProgress());
-                            }
-                        }
-
-                        kr.setProgress(krProgress);
-                        objTotal += krProgress; 
-                        krCount++;
-                    }
-
-                    int newObjProgress = (krCount > 0) ? Math.round((float) objTotal / krCount) : 0;
-                    obj.setProgress(newObjProgress);
-                    goalTotal += newObjProgress;
-                    objCount++;
-                }
-
-                int newGoalProgress = (objCount > 0) ? Math.round((float) goalTotal / objCount) : 0;
-                goal.setProgress(newGoalProgress);
-                initTotal += newGoalProgress;
-                goalCount++;
-            }
-
-            int newInitProgress = (goalCount > 0) ? Math.round((float) initTotal / goalCount) : 0;
-            init.setProgress(newInitProgress);
-            projTotal += newInitProgress;
-            initCount++;
-        }
+        List<ProgressChange> changes = new ArrayList<>();
+        ProgressRollup.rollUp(project, (level, node, progress) -> changes.add(new ProgressChange(level, node.getId(), progress)));
+        started = lap(phaseNanos, RollupPhase.COMPUTE, started);
+        progressHistoryRepository.append(changes, LocalDateTime.now());
+        lap(phaseNanos, RollupPhase.HISTORY, started);
+        metrics.recordRollup(phaseNanos, nodes);
+
+        logger.debug("Recalculate project end: projectId={}, nodes={}", projectId, nodes);
+    }
 
-        if (initCount > 0) {
-            project.setProgress(Math.round((float) projTotal / initCount));
-        }
-        
-        logger.debug("Recalculate project end: projectId={}", projectId);
+    private static long lap(long[] phaseNanos, RollupPhase phase, long started) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] = now - started;
+        return now;
     }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.DashboardSummary;
+import com.ccc.okrtracker.dto.DashboardSummary.AssigneeStats;
+import com.ccc.okrtracker.dto.DashboardSummary.ProjectStats;
+import com.ccc.okrtracker.dto.DashboardSummary.QuarterStats;
+import com.ccc.okrtracker.dto.DashboardSummary.StatusCounts;
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.repository.DashboardRepository;
+import com.ccc.okrtracker.repository.DashboardRepository.AssigneeBucket;
+import com.ccc.okrtracker.repository.DashboardRepository.StatusBucket;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dashboard aggregates for a set of projects.
+ *
+ * Aggregates are computed per project with a handful of GROUP BY queries and cached together with the
+ * project's version (see ProjectVersionService). A request reloads only the projects whose version
+ * moved since they were cached, in one batch, and merges the per-project results.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final Comparator<QuarterKey> QUARTER_ORDER = Comparator
+            .comparing(QuarterKey::year, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(QuarterKey::quarter, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final DashboardRepository dashboardRepo;
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+    private final ProjectVersionService projectVersions;
+
+    private final Map<Long, CachedAggregate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param projectIds Projects to include; null or empty means all accessible projects.
+     */
+    @Transactional(readOnly = true)
+    public DashboardSummary getSummary(Collection<Long> projectIds) {
+        Set<Long> accessible = hierarchyService.getAccessibleProjectIds();
+        Collection<Long> scope = accessible;
+        if (projectIds != null && !projectIds.isEmpty()) {
+            for (Long projectId : projectIds) {
+                if (!accessible.contains(projectId)) {
+                    throw new AccessDeniedException("No access to project " + projectId);
+                }
+            }
+            scope = new LinkedHashSet<>(projectIds);
+        }
+
+        List<ProjectAggregate> aggregates = new ArrayList<>();
+        Map<Long, Long> stale = new HashMap<>();
+        for (Long projectId : scope) {
+            long version = projectVersions.current(projectId);
+            CachedAggregate cached = cache.get(projectId);
+            if (cached != null && cached.version() == version) {
+                aggregates.add(cached.aggregate());
+            } else {
+                stale.put(projectId, version);
+            }
+        }
+        if (!stale.isEmpty()) {
+            for (ProjectAggregate loaded : load(stale.keySet())) {
+                cache.put(loaded.projectId, new CachedAggregate(stale.get(loaded.projectId), loaded));
+                aggregates.add(loaded);
+            }
+        }
+        aggregates.sort(Comparator.comparingLong(aggregate -> aggregate.projectId));
+        return merge(aggregates);
+    }
+
+    /**
+     * Number of projects with a cached aggregate (current or stale), for health reporting.
+     */
+    public int cachedProjects() {
+        return cache.size();
+    }
+
+    // --- Loading ---
+
+    private List<ProjectAggregate> load(Collection<Long> projectIds) {
+        Map<Long, ProjectAggregate> byId = new HashMap<>();
+        for (HierarchyNode project : readRepo.findByIds(HierarchyLevel.PROJECT, projectIds)) {
+            if (Boolean.TRUE.equals(project.isActive())) {
+                byId.put(project.id(), new ProjectAggregate(project));
+            }
+        }
+        if (byId.isEmpty()) {
+            return List.of();
+        }
+        for (StatusBucket bucket : dashboardRepo.findObjectiveBuckets(byId.keySet())) {
+            ProjectAggregate aggregate = byId.get(bucket.projectId());
+            aggregate.objectives.add(bucket.status(), bucket.count());
+            aggregate.quarters.computeIfAbsent(new QuarterKey(bucket.year(), bucket.quarter()), k -> new QuarterTotals())
+                    .add(bucket);
+        }
+        for (StatusBucket bucket : dashboardRepo.findKeyResultBuckets(byId.keySet())) {
+            byId.get(bucket.projectId()).keyResults.add(bucket.status(), bucket.count());
+        }
+        for (AssigneeBucket bucket : dashboardRepo.findAssigneeBuckets(byId.keySet())) {
+            byId.get(bucket.projectId()).assignees.computeIfAbsent(bucket.assignee(), a -> new AssigneeTotals())
+                    .add(bucket);
+        }
+        return List.copyOf(byId.values());
+    }
+
+    // --- Merging ---
+
+    private static DashboardSummary merge(List<ProjectAggregate> aggregates) {
+        StatusTotals objectives = new StatusTotals();
+        StatusTotals keyResults = new StatusTotals();
+        Map<QuarterKey, QuarterTotals> quarters = new TreeMap<>(QUARTER_ORDER);
+        Map<String, AssigneeTotals> assignees = new TreeMap<>();
+        List<ProjectStats> byProject = new ArrayList<>();
+        long progressSum = 0;
+
+        for (ProjectAggregate aggregate : aggregates) {
+            progressSum += aggregate.progress;
+            objectives.addAll(aggregate.objectives);
+            keyResults.addAll(aggregate.keyResults);
+            aggregate.quarters.forEach((key, totals) ->
+                    quarters.computeIfAbsent(key, k -> new QuarterTotals()).addAll(totals));
+            aggregate.assignees.forEach((assignee, totals) ->
+                    assignees.computeIfAbsent(assignee, a -> new AssigneeTotals()).addAll(totals));
+            byProject.add(new ProjectStats(aggregate.projectId, aggregate.title, aggregate.description,
+                    aggregate.progress, aggregate.objectives.toCounts()));
+        }
+
+        List<QuarterStats> byQuarter = new ArrayList<>();
+        quarters.forEach((key, totals) -> byQuarter.add(new QuarterStats(key.year(), key.quarter(),
+                totals.count, totals.completed, average(totals.progressSum, totals.count))));
+        List<AssigneeStats> byAssignee = new ArrayList<>();
+        assignees.forEach((assignee, totals) -> byAssignee.add(new AssigneeStats(assignee,
+                totals.objectives, totals.keyResults, totals.openActionItems, totals.completedActionItems)));
+
+        return new DashboardSummary(aggregates.size(), average(progressSum, aggregates.size()),
+                objectives.toCounts(), keyResults.toCounts(), byProject, byQuarter, byAssignee);
+    }
+
+    private static int average(long sum, int count) {
+        return count > 0 ? Math.round((float) sum / count) : 0;
+    }
+
+    // --- Per-project aggregate (immutable once cached) ---
+
+    private record CachedAggregate(long version, ProjectAggregate aggregate) {
+    }
+
+    private record QuarterKey(Integer year, String quarter) {
+    }
+
+    private static final class ProjectAggregate {
+        final long projectId;
+        final String title;
+        final String description;
+        final int progress;
+        final StatusTotals objectives = new StatusTotals();
+        final StatusTotals keyResults = new StatusTotals();
+        final Map<QuarterKey, QuarterTotals> quarters = new HashMap<>();
+        final Map<String, AssigneeTotals> assignees = new HashMap<>();
+
+        ProjectAggregate(HierarchyNode project) {
+            this.projectId = project.id();
+            this.title = project.title();
+            this.description = project.description();
+            this.progress = project.progress() != null ? project.progress() : 0;
+        }
+    }
+
+    private static final class StatusTotals {
+        int completed;
+        int onTrack;
+        int atRisk;
+        int offTrack;
+
+        void add(String status, int count) {
+            switch (status) {
+                case DashboardRepository.COMPLETED -> completed += count;
+                case DashboardRepository.ON_TRACK -> onTrack += count;
+                case DashboardRepository.AT_RISK -> atRisk += count;
+                case DashboardRepository.OFF_TRACK -> offTrack += count;
+                default -> throw new IllegalStateException("Unknown progress status: " + status);
+            }
+        }
+
+        void addAll(StatusTotals other) {
+            completed += other.completed;
+            onTrack += other.onTrack;
+            atRisk += other.atRisk;
+            offTrack += other.offTrack;
+        }
+
+        StatusCounts toCounts() {
+            return new StatusCounts(completed + onTrack + atRisk + offTrack, completed, onTrack, atRisk, offTrack);
+        }
+    }
+
+    private static final class QuarterTotals {
+        int count;
+        int completed;
+        long progressSum;
+
+        void add(StatusBucket bucket) {
+            count += bucket.count();
+            progressSum += bucket.progressSum();
+            if (DashboardRepository.COMPLETED.equals(bucket.status())) {
+                completed += bucket.count();
+            }
+        }
+
+        void addAll(QuarterTotals other) {
+            count += other.count;
+            completed += other.completed;
+            progressSum += other.progressSum;
+        }
+    }
+
+    private static final class AssigneeTotals {
+        int objectives;
+        int keyResults;
+        int openActionItems;
+        int completedActionItems;
+
+        void add(AssigneeBucket bucket) {
+            switch (bucket.type()) {
+                case "Objective" -> objectives += bucket.count();
+                case "KeyResult" -> keyResults += bucket.count();
+                default -> {
+                    if (bucket.completed()) {
+                        completedActionItems += bucket.count();
+                    } else {
+                        openActionItems += bucket.count();
+                    }
+                }
+            }
+        }
+
+        void addAll(AssigneeTotals other) {
+            objectives += other.objectives;
+            keyResults += other.keyResults;
+            openActionItems += other.openActionItems;
+            completedActionItems += other.completedActionItems;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.config.SecondLevelCacheConfig;
+import com.ccc.okrtracker.entity.Role;
+import com.ccc.okrtracker.entity.User;
+import com.ccc.okrtracker.event.CacheInvalidation;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the second-level cache (see SecondLevelCacheConfig) correct across nodes.
+ *
+ * Hibernate already updates the cache of the node that writes a user or role. This listener collects the users
+ * and roles written in a transaction, including their user_roles and role_permissions collections, and publishes
+ * one CacheInvalidation per row on the CacheInvalidationBus after commit. Messages from other nodes evict the
+ * entity, its collection and the cached email/login lookups here; a resync evicts all of them.
+ */
+@Service
+public class EntityCacheInvalidator implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+    private static final String ROLE_PERMISSIONS = Role.class.getName() + ".permissions";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBus bus;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationBus bus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        bus.subscribe(this::evict);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        changed(event.getAffectedOwnerOrNull(), event.getAffectedOwnerIdOrNull());
+    }
+
+    private void changed(Object entity, Object id) {
+        if (!(id instanceof Long key)) {
+            return;
+        }
+        if (entity instanceof User) {
+            bus.publishAfterCommit(CacheInvalidation.of(CacheInvalidation.Type.USER, key));
+        } else if (entity instanceof Role) {
+            bus.publishAfterCommit(CacheInvalidation.of(CacheInvalidation.Type.ROLE, key));
+        }
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        if (!invalidation.isRemote()) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        switch (invalidation.type()) {
+            case USER -> {
+                cache.evictEntityData(User.class, invalidation.id());
+                cache.evictCollectionData(USER_ROLES, invalidation.id());
+                // A new, renamed or deactivated user changes the result of findByEmail/findByLogin
+                cache.evictQueryRegion(SecondLevelCacheConfig.USER_LOOKUP_REGION);
+            }
+            case ROLE -> {
+                cache.evictEntityData(Role.class, invalidation.id());
+                cache.evictCollectionData(ROLE_PERMISSIONS, invalidation.id());
+            }
+            case ALL -> {
+                cache.evictEntityData(User.class);
+                cache.evictCollectionData(USER_ROLES);
+                cache.evictQueryRegion(SecondLevelCacheConfig.USER_LOOKUP_REGION);
+                cache.evictEntityData(Role.class);
+                cache.evictCollectionData(ROLE_PERMISSIONS);
+            }
+            default -> {
+                // Projects and role scoping are not in the second-level cache
+            }
+        }
+    }
+}
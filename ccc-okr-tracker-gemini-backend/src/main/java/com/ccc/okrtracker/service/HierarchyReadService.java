@@ -0,0 +1,184 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.HierarchyFilter;
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.exception.ResourceNotFoundException;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds hierarchy trees from flat HierarchyNode rows.
+ * Issues one query per level (bottom-up) and links children to parents in memory,
+ * so the query count is fixed regardless of tree size.
+ */
+@Service
+@RequiredArgsConstructor
+public class HierarchyReadService {
+
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+
+    /**
+     * Full project trees (down to Action Items) for every project the current user can access.
+     */
+    @Transactional(readOnly = true)
+    public List<HierarchyNode> getProjectTrees(boolean includeInactive) {
+        return getProjectTrees(HierarchyLevel.ACTION_ITEM, null, includeInactive);
+    }
+
+    /**
+     * Project trees cut off at the given depth. Nodes at the deepest loaded level carry
+     * childCount so the client can expand them on demand via getChildren().
+     *
+     * @param depth     Deepest level to load (e.g. OBJECTIVE).
+     * @param projectId Restrict to a single project, or null for all accessible projects.
+     */
+    @Transactional(readOnly = true)
+    public List<HierarchyNode> getProjectTrees(HierarchyLevel depth, Long projectId, boolean includeInactive) {
+        Set<Long> accessibleIds = hierarchyService.getAccessibleProjectIds();
+        if (projectId == null) {
+            return buildTrees(accessibleIds, depth, includeInactive);
+        }
+        if (!accessibleIds.contains(projectId)) {
+            throw new AccessDeniedException("No access to project " + projectId);
+        }
+        return buildTrees(Set.of(projectId), depth, includeInactive);
+    }
+
+    /**
+     * Direct children of one node, each with its own childCount (two queries).
+     */
+    @Transactional(readOnly = true)
+    public List<HierarchyNode> getChildren(HierarchyLevel level, Long id, boolean includeInactive) {
+        if (level.child() == null) {
+            throw new IllegalArgumentException(level.getTypeName() + " has no children");
+        }
+        Long projectId = readRepo.findProjectId(level, id)
+                .orElseThrow(() -> new ResourceNotFoundException(level.getTypeName(), id));
+        if (!hierarchyService.getAccessibleProjectIds().contains(projectId)) {
+            throw new AccessDeniedException("No access to project " + projectId);
+        }
+
+        List<HierarchyNode> children = readRepo.findChildren(level, id, includeInactive);
+        if (level.child().child() == null) {
+            return children;
+        }
+        Map<Long, Integer> counts = readRepo.countGrandchildren(level, id, includeInactive);
+        return children.stream()
+                .map(child -> child.withChildren(List.of(), counts.getOrDefault(child.id(), 0)))
+                .toList();
+    }
+
+    /**
+     * Objectives, Key Results and Action Items matching the filter, returned as trees that contain
+     * only the matching subtrees plus their ancestor path (Project -> Initiative -> Goal).
+     * Five to six queries regardless of how many nodes match.
+     */
+    @Transactional(readOnly = true)
+    public List<HierarchyNode> filterTrees(HierarchyFilter filter) {
+        Set<Long> projectIds = hierarchyService.getAccessibleProjectIds();
+        if (filter.projectId() != null) {
+            if (!projectIds.contains(filter.projectId())) {
+                throw new AccessDeniedException("No access to project " + filter.projectId());
+            }
+            projectIds = Set.of(filter.projectId());
+        }
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<HierarchyNode> objectives = readRepo.findMatching(HierarchyLevel.OBJECTIVE, filter, projectIds);
+        if (objectives.isEmpty()) {
+            return List.of();
+        }
+        List<HierarchyNode> keyResults = keepChildrenOf(objectives,
+                readRepo.findMatching(HierarchyLevel.KEY_RESULT, filter, projectIds));
+        List<HierarchyNode> actionItems = keepChildrenOf(keyResults,
+                readRepo.findMatching(HierarchyLevel.ACTION_ITEM, filter, projectIds));
+
+        // Ancestor path, one query per level
+        List<HierarchyNode> goals = readRepo.findByIds(HierarchyLevel.GOAL, parentIds(objectives));
+        List<HierarchyNode> initiatives = readRepo.findByIds(HierarchyLevel.INITIATIVE, parentIds(goals));
+        List<HierarchyNode> projects = readRepo.findByIds(HierarchyLevel.PROJECT, parentIds(initiatives));
+
+        return linkLevels(List.of(projects, initiatives, goals, objectives, keyResults, actionItems));
+    }
+
+    /**
+     * Load the given projects down to (and including) the given level and assemble them into trees.
+     * Nodes whose parent was not loaded (e.g. soft-deleted parent) are dropped.
+     */
+    List<HierarchyNode> buildTrees(Collection<Long> projectIds, HierarchyLevel depth, boolean includeInactive) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<List<HierarchyNode>> levels = new ArrayList<>();
+        for (HierarchyLevel level = HierarchyLevel.PROJECT; level != null; level = level.child()) {
+            levels.add(readRepo.findByProjects(level, projectIds, includeInactive));
+            if (level == depth) {
+                break;
+            }
+        }
+
+        // Deepest loaded level: children are not loaded, only counted (one GROUP BY query)
+        if (depth.child() != null) {
+            Map<Long, Integer> counts = readRepo.countChildrenByProjects(depth, projectIds, includeInactive);
+            List<HierarchyNode> deepest = levels.get(levels.size() - 1).stream()
+                    .map(row -> row.withChildren(List.of(), counts.getOrDefault(row.id(), 0)))
+                    .toList();
+            levels.set(levels.size() - 1, deepest);
+        }
+        return linkLevels(levels);
+    }
+
+    /**
+     * Link per-level rows (top-down order) into trees and return the roots.
+     * The deepest level is taken as-is; every other node gets its loaded children and their count.
+     */
+    private static List<HierarchyNode> linkLevels(List<List<HierarchyNode>> levels) {
+        List<HierarchyNode> nodes = levels.get(levels.size() - 1);
+        Map<Long, List<HierarchyNode>> childrenByParent = groupByParent(nodes);
+        for (int i = levels.size() - 2; i >= 0; i--) {
+            nodes = attachChildren(levels.get(i), childrenByParent);
+            childrenByParent = groupByParent(nodes);
+        }
+        return nodes;
+    }
+
+    private static List<HierarchyNode> keepChildrenOf(List<HierarchyNode> parents, List<HierarchyNode> children) {
+        Set<Long> parentIds = parents.stream().map(HierarchyNode::id).collect(Collectors.toSet());
+        return children.stream().filter(child -> parentIds.contains(child.parentId())).toList();
+    }
+
+    private static Set<Long> parentIds(List<HierarchyNode> nodes) {
+        return nodes.stream().map(HierarchyNode::parentId).collect(Collectors.toSet());
+    }
+
+    private static List<HierarchyNode> attachChildren(List<HierarchyNode> rows, Map<Long, List<HierarchyNode>> childrenByParent) {
+        return rows.stream()
+                .map(row -> {
+                    List<HierarchyNode> children = childrenByParent.getOrDefault(row.id(), List.of());
+                    return row.withChildren(children, children.size());
+                })
+                .toList();
+    }
+
+    private static Map<Long, List<HierarchyNode>> groupByParent(List<HierarchyNode> nodes) {
+        return nodes.stream()
+                .filter(node -> node.parentId() != null)
+                .collect(Collectors.groupingBy(HierarchyNode::parentId, LinkedHashMap::new, Collectors.toList()));
+    }
+}
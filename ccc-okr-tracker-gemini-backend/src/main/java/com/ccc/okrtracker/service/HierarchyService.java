@@ -1,21 +1,43 @@
 package com.ccc.okrtracker.service;
 
+import com.ccc.okrtracker.dto.BulkUpdateRequest;
+import com.ccc.okrtracker.dto.BulkUpdateResult;
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.dto.SubtreeCloneRequest;
+import com.ccc.okrtracker.dto.SubtreeCloneResult;
 import com.ccc.okrtracker.entity.*;
+import com.ccc.okrtracker.event.HierarchyChangedEvent;
 import com.ccc.okrtracker.exception.ResourceNotFoundException;
 import com.ccc.okrtracker.repository.*;
+import com.ccc.okrtracker.repository.HierarchyWriteRepository.ActionItemUpdate;
+import com.ccc.okrtracker.repository.HierarchyWriteRepository.CloneRow;
+import com.ccc.okrtracker.repository.HierarchyWriteRepository.KeyResultUpdate;
+import com.ccc.okrtracker.repository.ProgressHistoryRepository.ProgressChange;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +46,9 @@ public class HierarchyService {
 
     private static final Logger logger = LoggerFactory.getLogger(HierarchyService.class);
 
+    private static final int MAX_BULK_UPDATES = 1000;
+    private static final int MAX_CLONE_NODES = 10000;
+
     private final ProjectRepository projectRepo;
     private final StrategicInitiativeRepository initRepo;
     private final GoalRepository goalRepo;
@@ -33,6 +58,10 @@ public class HierarchyService {
     private final CalculationService calculationService;
     private final UserRepository userRepository;
     private final ProjectAccessService projectAccessService;
+    private final HierarchyWriteRepository hierarchyWriteRepo;
+    private final HierarchyReadRepository hierarchyReadRepo;
+    private final ProgressHistoryRepository progressHistoryRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves the currently authenticated user from Spring Security context.
@@ -92,8 +121,7 @@ public class HierarchyService {
      * Uses ProjectAccessService to determine accessible project IDs.
      */
     public List<Project> getAllProjects() {
-        User currentUser = getCurrentAuthenticatedUser();
-        Set<Long> accessibleIds = projectAccessService.getAccessibleProjectIds(currentUser);
+        Set<Long> accessibleIds = getAccessibleProjectIds();
         
         if (accessibleIds.isEmpty()) {
             return List.of();
@@ -102,6 +130,27 @@ public class HierarchyService {
         return projectRepo.findByIdInAndIsActiveTrue(accessibleIds);
     }
 
+    /**
+     * Get the IDs of all projects the current user may see.
+     */
+    public Set<Long> getAccessibleProjectIds() {
+        return projectAccessService.getAccessibleProjectIds(getCurrentAuthenticatedUser());
+    }
+
+    /**
+     * getAccessibleProjectIds() from ProjectAccessService's per-user cache, for lookups on every keystroke.
+     */
+    public Set<Long> getAccessibleProjectIdsCached() {
+        return projectAccessService.getAccessibleProjectIdsCached(getCurrentAuthenticatedUser());
+    }
+
+    /**
+     * Get the IDs of all projects the current user may see, including archived projects (for the Recycle Bin).
+     */
+    public Set<Long> getAccessibleProjectIdsIncludingArchived() {
+        return projectAccessService.getAccessibleProjectIds(getCurrentAuthenticatedUser(), true);
+    }
+
     /**
      * Get all projects without access filtering (for admin purposes).
      */
@@ -112,50 +161,66 @@ public class HierarchyService {
     // --- Add Methods ---
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Project createProject(Project project) {
-        return projectRepo.save(project);
+        Project saved = projectRepo.save(project);
+        publishChange(saved.getId());
+        return saved;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public StrategicInitiative addInitiative(Long projectId, StrategicInitiative init) {
         Project p = projectRepo.findById(projectId).orElseThrow(() -> new ResourceNotFoundException("Project not found"));
         init.setProject(p);
         StrategicInitiative saved = initRepo.save(init);
         calculationService.recalculateProject(projectId);
+        publishChange(projectId);
         return saved;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Goal addGoal(Long initId, Goal goal) {
         StrategicInitiative init = initRepo.findById(initId).orElseThrow(() -> new ResourceNotFoundException("Initiative not found"));
         goal.setInitiative(init);
+        goal.setProjectId(init.getProject().getId());
         Goal saved = goalRepo.save(goal);
-        calculationService.recalculateProject(init.getProject().getId());
+        calculationService.recalculateProject(saved.getProjectId());
+        publishChange(saved.getProjectId());
         return saved;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Objective addObjective(Long goalId, Objective obj) {
         Goal g = goalRepo.findById(goalId).orElseThrow(() -> new ResourceNotFoundException("Goal not found"));
         obj.setGoal(g);
+        obj.setProjectId(g.getProjectId());
         Objective saved = objectiveRepo.save(obj);
-        calculationService.recalculateProject(g.getInitiative().getProject().getId());
+        calculationService.recalculateProject(saved.getProjectId());
+        publishChange(saved.getProjectId());
         return saved;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public KeyResult addKeyResult(Long objId, KeyResult kr) {
         Objective obj = objectiveRepo.findById(objId).orElseThrow(() -> new ResourceNotFoundException("Objective not found"));
         kr.setObjective(obj);
+        kr.setProjectId(obj.getProjectId());
         KeyResult saved = krRepo.save(kr);
-        calculationService.recalculateProject(obj.getGoal().getInitiative().getProject().getId());
+        calculationService.recalculateProject(saved.getProjectId());
+        publishChange(saved.getProjectId());
         return saved;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public ActionItem addActionItem(Long krId, ActionItem ai) {
         KeyResult kr = krRepo.findById(krId).orElseThrow(() -> new ResourceNotFoundException("KR not found"));
         ai.setKeyResult(kr);
+        ai.setProjectId(kr.getProjectId());
 
         // Ensure consistency between progress and isCompleted upon creation
         Integer progress = ai.getProgress();
@@ -173,13 +238,15 @@ public class HierarchyService {
         }
 
         ActionItem saved = aiRepo.save(ai);
-        calculationService.recalculateProject(kr.getObjective().getGoal().getInitiative().getProject().getId());
+        calculationService.recalculateProject(saved.getProjectId());
+        publishChange(saved.getProjectId());
         return saved;
     }
 
     // --- Update Methods (PUT) ---
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Project updateProject(Long id, Project updates) {
         Project p = projectRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Project not found"));
 
@@ -188,18 +255,19 @@ public class HierarchyService {
         Optional.ofNullable(updates.getProgress()).ifPresent(p::setProgress);
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            p.softDelete(getCurrentUserLogin());
-            cascadeSoftDelete(p, false);
+            archiveSubtree(HierarchyLevel.PROJECT, p);
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            p.restore();
+            restoreSubtree(HierarchyLevel.PROJECT, p);
         }
 
         projectRepo.save(p);
         calculationService.recalculateProject(id);
+        publishChange(id);
         return p;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public StrategicInitiative updateStrategicInitiative(Long id, StrategicInitiative updates) {
         StrategicInitiative init = initRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Initiative not found"));
 
@@ -208,19 +276,20 @@ public class HierarchyService {
         Optional.ofNullable(updates.getProgress()).ifPresent(init::setProgress);
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            init.softDelete(getCurrentUserLogin());
-            cascadeSoftDelete(init, false);
+            archiveSubtree(HierarchyLevel.INITIATIVE, init);
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            init.restore();
+            restoreSubtree(HierarchyLevel.INITIATIVE, init);
         }
 
         initRepo.save(init);
         Long projectId = init.getProject().getId();
         calculationService.recalculateProject(projectId);
+        publishChange(projectId);
         return init;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Goal updateGoal(Long id, Goal updates) {
         Goal g = goalRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Goal not found"));
 
@@ -228,22 +297,22 @@ public class HierarchyService {
         Optional.ofNullable(updates.getDescription()).ifPresent(g::setDescription);
         Optional.ofNullable(updates.getProgress()).ifPresent(g::setProgress);
 
-        // Get projectId BEFORE soft delete to avoid detached entity issues
-        Long projectId = g.getInitiative().getProject().getId();
+        Long projectId = g.getProjectId();
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            g.softDelete(getCurrentUserLogin());
-            cascadeSoftDelete(g, false);
+            archiveSubtree(HierarchyLevel.GOAL, g);
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            g.restore();
+            restoreSubtree(HierarchyLevel.GOAL, g);
         }
 
         goalRepo.save(g);
         calculationService.recalculateProject(projectId);
+        publishChange(projectId);
         return g;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public Objective updateObjective(Long id, Objective updates) {
         Objective obj = objectiveRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Objective not found"));
 
@@ -255,22 +324,22 @@ public class HierarchyService {
         Optional.ofNullable(updates.getDueDate()).ifPresent(obj::setDueDate);
         Optional.ofNullable(updates.getProgress()).ifPresent(obj::setProgress);
 
-        // Get projectId BEFORE soft delete to avoid detached entity issues
-        Long projectId = obj.getGoal().getInitiative().getProject().getId();
+        Long projectId = obj.getProjectId();
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            obj.softDelete(getCurrentUserLogin());
-            cascadeSoftDelete(obj, false);
+            archiveSubtree(HierarchyLevel.OBJECTIVE, obj);
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            obj.restore();
+            restoreSubtree(HierarchyLevel.OBJECTIVE, obj);
         }
 
         objectiveRepo.save(obj);
         calculationService.recalculateProject(projectId);
+        publishChange(projectId);
         return obj;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public KeyResult updateKeyResult(Long id, KeyResult updates) {
         KeyResult kr = krRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Key Result not found"));
 
@@ -292,15 +361,13 @@ public class HierarchyService {
             needsRecalculation = true;
         }
 
-        // Get projectId BEFORE soft delete to avoid detached entity issues
-        Long projectId = kr.getObjective().getGoal().getInitiative().getProject().getId();
+        Long projectId = kr.getProjectId();
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            kr.softDelete(getCurrentUserLogin());
-            cascadeSoftDelete(kr, false);
+            archiveSubtree(HierarchyLevel.KEY_RESULT, kr);
             needsRecalculation = true;
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            kr.restore();
+            restoreSubtree(HierarchyLevel.KEY_RESULT, kr);
             needsRecalculation = true;
         }
 
@@ -309,11 +376,18 @@ public class HierarchyService {
         if (needsRecalculation) {
             calculationService.recalculateProject(projectId);
         }
-        
+        if (progressChanged) {
+            // A manual value is not a rollup change, so the recalculation does not record it
+            progressHistoryRepo.append(List.of(new ProgressChange(HierarchyLevel.KEY_RESULT, kr.getId(), kr.getProgress())),
+                    LocalDateTime.now());
+        }
+
+        publishChange(projectId);
         return kr;
     }
 
     @Transactional
+    @Timed("okr.hierarchy.write")
     public ActionItem updateActionItem(Long id, ActionItem updates) {
         ActionItem ai = aiRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Action Item not found"));
         
@@ -334,9 +408,9 @@ public class HierarchyService {
         }
 
         if (updates.getIsActive() != null && !updates.getIsActive()) {
-            ai.softDelete(getCurrentUserLogin());
+            archiveSubtree(HierarchyLevel.ACTION_ITEM, ai);
         } else if (updates.getIsActive() != null && updates.getIsActive()) {
-            ai.restore();
+            restoreSubtree(HierarchyLevel.ACTION_ITEM, ai);
         }
 
         // Final consistency check
@@ -358,71 +432,348 @@ public class HierarchyService {
                 kr.setManualProgressSet(false);
                 krRepo.save(kr);
                 
-                Long projectId = kr.getObjective().getGoal().getInitiative().getProject().getId();
-                calculationService.recalculateProject(projectId);
+                calculationService.recalculateProject(kr.getProjectId());
             }
         }
-        
+
+        publishChange(ai.getProjectId());
         return ai;
     }
 
-    // --- New Recursive Helper for Soft Delete/Restore ---
+    // --- Bulk updates ---
 
     /**
-     * Recursively applies soft-delete (isActive=false) or restore (isActive=true)
-     * to all hierarchical descendants of the given parent entity.
-     * NOTE: This method only processes CHILDREN, not the parent itself (parent is handled by caller).
-     * @param parent The parent entity (Project, Initiative, Goal, Objective, KeyResult)
-     * @param restore If true, restores the entities (isActive=true); otherwise soft-deletes (isActive=false).
+     * Apply partial updates to many Key Results and Action Items in one transaction: one JDBC batch per
+     * table and one recalculation per affected project, instead of a transaction and a full rollup per node.
+     * Action Items are written first, so an explicit Key Result progress in the same request wins over
+     * the unlock that an Action Item change causes.
+     *
+     * @throws IllegalArgumentException for unsupported types, missing or repeated IDs, or more than 1000 updates
      */
-    private void cascadeSoftDelete(BaseEntity parent, boolean restore) {
-        String currentUser = getCurrentUserLogin();
-        
-        // Recursively apply to children (NOT to parent - parent is handled by caller)
-        if (parent instanceof Project) {
-            Project p = (Project) parent;
-            // Initialize lazy collection before iterating
-            Hibernate.initialize(p.getInitiatives());
-            for (StrategicInitiative init : p.getInitiatives()) {
-                if (!restore) init.softDelete(currentUser); else init.restore();
-                initRepo.save(init);
-                cascadeSoftDelete(init, restore);
+    @Transactional
+    @Timed("okr.hierarchy.write")
+    public BulkUpdateResult bulkUpdate(BulkUpdateRequest request) {
+        List<BulkUpdateRequest.Change> changes = request != null && request.updates() != null ? request.updates() : List.of();
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No updates given");
+        }
+        if (changes.size() > MAX_BULK_UPDATES) {
+            throw new IllegalArgumentException("Too many updates (max " + MAX_BULK_UPDATES + ")");
+        }
+        Map<HierarchyLevel, Map<Long, BulkUpdateRequest.Change>> byLevel = new EnumMap<>(HierarchyLevel.class);
+        for (BulkUpdateRequest.Change change : changes) {
+            if (change.type() == null || change.id() == null) {
+                throw new IllegalArgumentException("Each update needs a type and an id");
             }
-        } else if (parent instanceof StrategicInitiative) {
-            StrategicInitiative init = (StrategicInitiative) parent;
-            // Initialize lazy collection before iterating
-            Hibernate.initialize(init.getGoals());
-            for (Goal goal : init.getGoals()) {
-                if (!restore) goal.softDelete(currentUser); else goal.restore();
-                goalRepo.save(goal);
-                cascadeSoftDelete(goal, restore);
+            HierarchyLevel level = HierarchyLevel.fromType(change.type());
+            if (level != HierarchyLevel.KEY_RESULT && level != HierarchyLevel.ACTION_ITEM) {
+                throw new IllegalArgumentException("Bulk updates support KeyResult and ActionItem only");
             }
-        } else if (parent instanceof Goal) {
-            Goal g = (Goal) parent;
-            // Initialize lazy collection before iterating
-            Hibernate.initialize(g.getObjectives());
-            for (Objective obj : g.getObjectives()) {
-                if (!restore) obj.softDelete(currentUser); else obj.restore();
-                objectiveRepo.save(obj);
-                cascadeSoftDelete(obj, restore);
+            if (byLevel.computeIfAbsent(level, l -> new LinkedHashMap<>()).putIfAbsent(change.id(), change) != null) {
+                throw new IllegalArgumentException(level.getTypeName() + " " + change.id() + " is listed more than once");
             }
-        } else if (parent instanceof Objective) {
-            Objective obj = (Objective) parent;
-            // Initialize lazy collection before iterating
-            Hibernate.initialize(obj.getKeyResults());
-            for (KeyResult kr : obj.getKeyResults()) {
-                if (!restore) kr.softDelete(currentUser); else kr.restore();
-                krRepo.save(kr);
-                cascadeSoftDelete(kr, restore);
+        }
+
+        // Resolve owning projects and check access before anything is written
+        Set<Long> accessible = getAccessibleProjectIds();
+        Set<Long> projectIds = new TreeSet<>();
+        byLevel.forEach((level, levelChanges) -> {
+            Map<Long, Long> owners = hierarchyReadRepo.findProjectIds(level, levelChanges.keySet());
+            for (Long id : levelChanges.keySet()) {
+                Long projectId = owners.get(id);
+                if (projectId == null) {
+                    throw new ResourceNotFoundException(level.getTypeName(), id);
+                }
+                if (!accessible.contains(projectId)) {
+                    throw new AccessDeniedException("No access to project " + projectId);
+                }
+                projectIds.add(projectId);
+            }
+        });
+
+        String user = getCurrentUserLogin();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, BulkUpdateRequest.Change> itemChanges = byLevel.getOrDefault(HierarchyLevel.ACTION_ITEM, Map.of());
+        hierarchyWriteRepo.updateActionItems(itemChanges.values().stream().map(HierarchyService::toActionItemUpdate).toList(),
+                user, now);
+        hierarchyWriteRepo.unlockParentKeyResults(itemChanges.keySet());
+
+        // Like updateKeyResult, only a progress that differs from the stored one counts as a manual override
+        Map<Long, BulkUpdateRequest.Change> krChanges = byLevel.getOrDefault(HierarchyLevel.KEY_RESULT, Map.of());
+        Map<Long, Integer> storedProgress = new HashMap<>();
+        hierarchyReadRepo.findByIds(HierarchyLevel.KEY_RESULT, krChanges.keySet())
+                .forEach(node -> storedProgress.put(node.id(), node.progress()));
+        List<KeyResultUpdate> krUpdates = new ArrayList<>();
+        List<ProgressChange> manualProgress = new ArrayList<>();
+        for (BulkUpdateRequest.Change change : krChanges.values()) {
+            Integer progress = change.progress() != null && !change.progress().equals(storedProgress.get(change.id()))
+                    ? change.progress() : null;
+            if (progress != null) {
+                manualProgress.add(new ProgressChange(HierarchyLevel.KEY_RESULT, change.id(), progress));
+            }
+            krUpdates.add(new KeyResultUpdate(change.id(), change.title(), change.description(), change.assignee(),
+                    change.dueDate(), progress));
+        }
+        hierarchyWriteRepo.updateKeyResults(krUpdates, user, now);
+
+        projectIds.forEach(calculationService::recalculateProject);
+        // Write the rolled-up values so the JDBC reads below see them
+        projectRepo.flush();
+        progressHistoryRepo.append(manualProgress, now);
+        projectIds.forEach(this::publishChange);
+        logger.debug("Bulk updated {} nodes in {} projects", changes.size(), projectIds.size());
+        return readBulkResult(byLevel);
+    }
+
+    // Same progress/isCompleted reconciliation as updateActionItem
+    private static ActionItemUpdate toActionItemUpdate(BulkUpdateRequest.Change change) {
+        Integer progress = null;
+        Boolean isCompleted = null;
+        if (change.progress() != null && change.progress() > 0) {
+            progress = change.progress();
+            isCompleted = progress >= 100;
+        } else if (change.isCompleted() != null) {
+            isCompleted = change.isCompleted();
+            progress = isCompleted ? 100 : 0;
+        }
+        return new ActionItemUpdate(change.id(), change.title(), change.description(), change.assignee(),
+                change.dueDate(), progress, isCompleted);
+    }
+
+    // Updated nodes plus their distinct ancestors, one query per level
+    private BulkUpdateResult readBulkResult(Map<HierarchyLevel, Map<Long, BulkUpdateRequest.Change>> byLevel) {
+        List<HierarchyNode> updated = new ArrayList<>();
+        Map<HierarchyLevel, Set<Long>> pending = new EnumMap<>(HierarchyLevel.class);
+        byLevel.forEach((level, levelChanges) -> {
+            for (HierarchyNode node : hierarchyReadRepo.findByIds(level, levelChanges.keySet())) {
+                updated.add(node);
+                pending.computeIfAbsent(level.parent(), l -> new LinkedHashSet<>()).add(node.parentId());
             }
-        } else if (parent instanceof KeyResult) {
-            KeyResult kr = (KeyResult) parent;
-            // Initialize lazy collection before iterating
-            Hibernate.initialize(kr.getActionItems());
-            for (ActionItem ai : kr.getActionItems()) {
-                if (!restore) ai.softDelete(currentUser); else ai.restore();
-                aiRepo.save(ai);
+        });
+        List<HierarchyNode> ancestors = new ArrayList<>();
+        for (HierarchyLevel level = HierarchyLevel.KEY_RESULT; level != null; level = level.parent()) {
+            Set<Long> ids = new LinkedHashSet<>(pending.getOrDefault(level, Set.of()));
+            ids.removeAll(byLevel.getOrDefault(level, Map.of()).keySet());
+            for (HierarchyNode node : hierarchyReadRepo.findByIds(level, ids)) {
+                ancestors.add(node);
+                if (level.parent() != null) {
+                    pending.computeIfAbsent(level.parent(), l -> new LinkedHashSet<>()).add(node.parentId());
+                }
             }
         }
+        return new BulkUpdateResult(updated, ancestors);
+    }
+
+    // --- Subtree clone ---
+
+    /**
+     * Deep-copy an active Goal or Objective together with its active descendants. IDs for each level are
+     * reserved up front, so every level is written with one batched INSERT and children point at their new
+     * parents right away; the target project is recalculated once at the end.
+     *
+     * @throws IllegalArgumentException for other levels, an invalid quarter or more than 10000 nodes
+     * @throws IllegalStateException if the source or the target parent is archived
+     */
+    @Transactional
+    @Timed("okr.hierarchy.write")
+    public SubtreeCloneResult cloneSubtree(HierarchyLevel level, Long id, SubtreeCloneRequest request) {
+        if (level != HierarchyLevel.GOAL && level != HierarchyLevel.OBJECTIVE) {
+            throw new IllegalArgumentException("Only Goals and Objectives can be cloned");
+        }
+        SubtreeCloneRequest options = request != null ? request : new SubtreeCloneRequest(null, null, null, null);
+        Integer targetQuarter = null;
+        if (options.quarter() != null) {
+            targetQuarter = quarterNumber(options.quarter());
+            if (targetQuarter == null) {
+                throw new IllegalArgumentException("Invalid quarter: " + options.quarter() + " (expected Q1 to Q4)");
+            }
+        }
+
+        Long sourceProjectId = hierarchyReadRepo.findProjectId(level, id)
+                .orElseThrow(() -> new ResourceNotFoundException(level.getTypeName(), id));
+        Map<HierarchyLevel, List<CloneRow>> source = new EnumMap<>(HierarchyLevel.class);
+        int nodeCount = 0;
+        for (HierarchyLevel current = level; current != null; current = current.child()) {
+            List<CloneRow> rows = hierarchyWriteRepo.findCloneRows(level, id, current);
+            source.put(current, rows);
+            nodeCount += rows.size();
+        }
+        if (source.get(level).isEmpty()) {
+            throw new IllegalStateException("Cannot clone archived " + level.getTypeName() + " " + id);
+        }
+        if (nodeCount > MAX_CLONE_NODES) {
+            throw new IllegalArgumentException("Subtree too large to clone (" + nodeCount + " nodes, max " + MAX_CLONE_NODES + ")");
+        }
+
+        HierarchyLevel parentLevel = level.parent();
+        Long targetParentId = options.targetParentId() != null ? options.targetParentId() : source.get(level).get(0).parentId();
+        HierarchyNode targetParent = hierarchyReadRepo.findByIds(parentLevel, List.of(targetParentId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(parentLevel.getTypeName(), targetParentId));
+        if (!Boolean.TRUE.equals(targetParent.isActive())) {
+            throw new IllegalStateException("Cannot clone into archived " + parentLevel.getTypeName() + " " + targetParentId);
+        }
+        Long targetProjectId = hierarchyReadRepo.findProjectId(parentLevel, targetParentId).orElseThrow();
+        Set<Long> accessible = getAccessibleProjectIds();
+        for (Long projectId : List.of(sourceProjectId, targetProjectId)) {
+            if (!accessible.contains(projectId)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+        }
+
+        String user = getCurrentUserLogin();
+        LocalDateTime now = LocalDateTime.now();
+        boolean resetProgress = Boolean.TRUE.equals(options.resetProgress());
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<Long, Long> parentIds = Map.of();
+        Map<Long, Integer> parentShifts = Map.of();
+        Long newRootId = null;
+        // Top-down, so every parent row exists before its children are inserted
+        for (HierarchyLevel current = level; current != null; current = current.child()) {
+            List<CloneRow> rows = source.get(current);
+            List<Long> ids = hierarchyWriteRepo.allocateIds(current, rows.size());
+            Map<Long, Long> levelIds = new HashMap<>();
+            Map<Long, Integer> levelShifts = new HashMap<>();
+            List<CloneRow> copies = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                CloneRow row = rows.get(i);
+                Map<String, Object> values = new LinkedHashMap<>(row.values());
+                int monthShift = current == HierarchyLevel.OBJECTIVE
+                        ? retargetPeriod(values, options.year(), targetQuarter)
+                        : parentShifts.getOrDefault(row.parentId(), 0);
+                if (monthShift != 0 && values.get("due_date") instanceof LocalDate dueDate) {
+                    values.put("due_date", dueDate.plusMonths(monthShift));
+                }
+                if (resetProgress) {
+                    values.put("progress", 0);
+                    values.computeIfPresent("is_completed", (column, value) -> false);
+                    values.computeIfPresent("manual_progress_set", (column, value) -> false);
+                }
+                Long parentId = current == level ? targetParentId : parentIds.get(row.parentId());
+                copies.add(new CloneRow(ids.get(i), parentId, values));
+                levelIds.put(row.id(), ids.get(i));
+                levelShifts.put(row.id(), monthShift);
+            }
+            hierarchyWriteRepo.insertClones(current, copies, targetProjectId, user, now);
+            if (current == level) {
+                newRootId = copies.get(0).id();
+            }
+            counts.put(current.getTypeName(), copies.size());
+            parentIds = levelIds;
+            parentShifts = levelShifts;
+        }
+
+        calculationService.recalculateProject(targetProjectId);
+        publishChange(targetProjectId);
+        logger.debug("Cloned {} {} as {} with {} nodes", level.getTypeName(), id, newRootId, nodeCount);
+        return new SubtreeCloneResult(level.getTypeName(), id, newRootId, targetParentId, targetProjectId, nodeCount, counts);
+    }
+
+    /**
+     * Apply the requested year/quarter to a copied Objective's values.
+     *
+     * @return months to move the due dates inside this Objective by; 0 unless both the source and the
+     *         target period are complete
+     */
+    private static int retargetPeriod(Map<String, Object> values, Integer year, Integer quarter) {
+        Integer sourceYear = (Integer) values.get("year");
+        Integer sourceQuarter = quarterNumber((String) values.get("quarter"));
+        if (year != null) {
+            values.put("year", year);
+        }
+        if (quarter != null) {
+            values.put("quarter", "Q" + quarter);
+        }
+        Integer targetYear = year != null ? year : sourceYear;
+        Integer targetQuarter = quarter != null ? quarter : sourceQuarter;
+        if (sourceYear == null || sourceQuarter == null || targetYear == null || targetQuarter == null) {
+            return 0;
+        }
+        return ((targetYear - sourceYear) * 4 + (targetQuarter - sourceQuarter)) * 3;
+    }
+
+    // "Q1".."Q4" (case-insensitive) to 1..4, anything else to null
+    private static Integer quarterNumber(String quarter) {
+        if (quarter == null) {
+            return null;
+        }
+        String normalized = quarter.trim().toUpperCase(Locale.ROOT);
+        return normalized.matches("Q[1-4]") ? Integer.valueOf(normalized.substring(1)) : null;
+    }
+
+    // --- Archive / Restore ---
+
+    /**
+     * Restore a soft-deleted node of any level together with the descendants that were archived with it,
+     * then recalculate its project once. Restoring an already active node is a no-op.
+     *
+     * @throws IllegalStateException if the node's parent is still archived
+     */
+    @Transactional
+    @Timed("okr.hierarchy.write")
+    public BaseEntity restoreItem(HierarchyLevel level, Long id) {
+        BaseEntity entity = findEntity(level, id);
+        if (Boolean.TRUE.equals(entity.getIsActive())) {
+            return entity;
+        }
+        if (!hierarchyWriteRepo.isParentActive(level, id)) {
+            throw new IllegalStateException("Cannot restore " + level.getTypeName() + " " + id
+                    + ": its parent " + level.parent().getTypeName() + " is archived. Restore the parent first.");
+        }
+        restoreSubtree(level, entity);
+        if (entity instanceof ActionItem ai && ai.getKeyResult() != null) {
+            // Same as updateActionItem: an Action Item change hands the KR back to calculated progress
+            ai.getKeyResult().setManualProgressSet(false);
+        }
+        calculationService.recalculateProject(projectIdOf(entity));
+        publishChange(projectIdOf(entity));
+        return entity;
+    }
+
+    /**
+     * Soft-delete a node in memory and its active descendants with one bulk UPDATE per level.
+     * Descendants share the node's closedDate so that restoreSubtree() can bring back exactly this batch.
+     */
+    private void archiveSubtree(HierarchyLevel level, BaseEntity root) {
+        root.softDelete(getCurrentUserLogin());
+        int archived = hierarchyWriteRepo.archiveDescendants(level, root.getId(), root.getClosedBy(), root.getClosedDate());
+        logger.debug("Archived {} {} with {} descendants", level.getTypeName(), root.getId(), archived);
+    }
+
+    /**
+     * Restore a node in memory and, with one bulk UPDATE per level, the descendants archived together with it.
+     */
+    private void restoreSubtree(HierarchyLevel level, BaseEntity root) {
+        LocalDateTime closedDate = root.getClosedDate();
+        root.restore();
+        if (closedDate != null) {
+            int restored = hierarchyWriteRepo.restoreDescendants(level, root.getId(), closedDate, getCurrentUserLogin());
+            logger.debug("Restored {} {} with {} descendants", level.getTypeName(), root.getId(), restored);
+        }
+    }
+
+    private static Long projectIdOf(BaseEntity entity) {
+        if (entity instanceof Project p) return p.getId();
+        if (entity instanceof StrategicInitiative init) return init.getProject().getId();
+        if (entity instanceof Goal g) return g.getProjectId();
+        if (entity instanceof Objective obj) return obj.getProjectId();
+        if (entity instanceof KeyResult kr) return kr.getProjectId();
+        return ((ActionItem) entity).getProjectId();
+    }
+
+    private void publishChange(Long projectId) {
+        eventPublisher.publishEvent(new HierarchyChangedEvent(projectId));
+    }
+
+    private BaseEntity findEntity(HierarchyLevel level, Long id) {
+        Optional<? extends BaseEntity> entity = switch (level) {
+            case PROJECT -> projectRepo.findById(id);
+            case INITIATIVE -> initRepo.findById(id);
+            case GOAL -> goalRepo.findById(id);
+            case OBJECTIVE -> objectiveRepo.findById(id);
+            case KEY_RESULT -> krRepo.findById(id);
+            case ACTION_ITEM -> aiRepo.findById(id);
+        };
+        return entity.orElseThrow(() -> new ResourceNotFoundException(level.getTypeName(), id));
     }
 }
\ No newline at end of file
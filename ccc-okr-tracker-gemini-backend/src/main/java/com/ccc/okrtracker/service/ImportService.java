@@ -3,14 +3,18 @@ package com.ccc.okrtracker.service;
 import com.ccc.okrtracker.dto.HierarchyImportRow;
 import com.ccc.okrtracker.entity.*;
 import com.ccc.okrtracker.repository.*;
+import com.ccc.okrtracker.event.HierarchyChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList; // Added for explicit List initialization
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +27,7 @@ public class ImportService {
     private final KeyResultRepository krRepo;
     private final ActionItemRepository aiRepo;
     private final CalculationService calculationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Placeholder cache to hold entities during batch processing and avoid redundant DB lookups.
     private Project currentProject;
@@ -40,6 +45,7 @@ public class ImportService {
         currentKeyResult = null;
 
         Project topLevelProject = null;
+        Set<Long> touchedProjectIds = new LinkedHashSet<>();
 
         for (HierarchyImportRow row : rows) {
 
@@ -73,6 +79,7 @@ public class ImportService {
 
             // Must have a project to continue
             if (currentProject == null) continue;
+            touchedProjectIds.add(currentProject.getId());
 
 
             // 2. STRATEGIC INITIATIVE
@@ -117,7 +124,7 @@ public class ImportService {
                             .filter(g -> g.getTitle().equals(row.getGoalTitle()))
                             .findFirst()
                             .orElseGet(() -> {
-                                Goal newGoal = new Goal(row.getGoalTitle(), row.getGoalDescription(), 0, currentInitiative, null);
+                                Goal newGoal = new Goal(row.getGoalTitle(), row.getGoalDescription(), 0, currentInitiative, currentProject.getId(), null);
 
                                 // CRITICAL FIX: Ensure parent list is non-null before adding
                                 List<Goal> goals = currentInitiative.getGoals();
@@ -157,6 +164,7 @@ public class ImportService {
                                 newObj.setQuarter(row.getObjectiveQuarter());
                                 newObj.setDueDate(row.getObjectiveDueDate());
                                 newObj.setGoal(currentGoal);
+                                newObj.setProjectId(currentProject.getId());
                                 newObj.setProgress(0);
 
                                 // CRITICAL FIX: Ensure parent list is non-null before adding
@@ -192,8 +200,9 @@ public class ImportService {
                                 newKr.setTitle(row.getKrTitle());
                                 newKr.setDescription(row.getKrDescription());
                                 newKr.setAssignee(row.getKrAssignee());
-                                newKr.setDueDate(row.getKrDueDate() != null ? row.getKrDueDate().toString() : null);
+                                newKr.setDueDate(row.getKrDueDate());
                                 newKr.setObjective(currentObjective);
+                                newKr.setProjectId(currentProject.getId());
                                 newKr.setProgress(0);
 
                                 // CRITICAL FIX: Ensure parent list is non-null before adding
@@ -223,6 +232,7 @@ public class ImportService {
                 newAi.setDueDate(row.getActionItemDueDate());
                 newAi.setIsCompleted(Optional.ofNullable(row.getActionItemIsCompleted()).orElse(false));
                 newAi.setKeyResult(currentKeyResult);
+                newAi.setProjectId(currentProject.getId());
 
                 // Set initial progress based on completion
                 newAi.setProgress(newAi.getIsCompleted() ? 100 : 0);
@@ -246,5 +256,6 @@ public class ImportService {
         if (topLevelProject != null) {
             calculationService.recalculateProject(topLevelProject.getId());
         }
+        touchedProjectIds.forEach(projectId -> eventPublisher.publishEvent(new HierarchyChangedEvent(projectId)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.event.CacheInvalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * CacheInvalidationBus over Postgres LISTEN/NOTIFY, for several nodes sharing one database
+ * (app.cache.invalidation-bus=postgres).
+ *
+ * One thread owns a dedicated connection (not from the pool) that LISTENs on app.cache.invalidation.channel.
+ * publish() only queues the message; the thread sends everything queued with a single pg_notify statement in
+ * autocommit, so messages leave in publish order, and delivers the notifications it receives (its own included)
+ * to the subscribers.
+ *
+ * Every message carries its node's sequence number. A receiver that sees a gap in another node's sequence, or
+ * that had to reconnect its LISTEN connection, may have missed messages and delivers CacheInvalidation.resync()
+ * to its subscribers. Messages that could not be sent are kept and resent after reconnecting.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.invalidation-bus", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+
+    private static final long POLL_MILLIS = 100;
+    private static final long VALIDATE_MILLIS = 30_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final long reconnectMillis;
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter resyncCounter;
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<CacheInvalidation> outbox = new LinkedBlockingQueue<>();
+
+    // Listener thread only
+    private final List<String> unsent = new ArrayList<>();
+    private final Map<String, Long> lastSequence = new HashMap<>();
+    private long sequence;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PostgresCacheInvalidationBus(DataSourceProperties dataSourceProperties, MeterRegistry registry,
+                                        @Value("${app.cache.invalidation.channel:okr_cache_invalidation}") String channel,
+                                        @Value("${app.cache.invalidation.reconnect-seconds:5}") long reconnectSeconds) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.reconnectMillis = TimeUnit.SECONDS.toMillis(reconnectSeconds);
+        this.publishedCounter = Counter.builder("okr.cache.invalidation.published")
+                .description("Cache invalidations sent with NOTIFY")
+                .register(registry);
+        this.receivedCounter = Counter.builder("okr.cache.invalidation.received")
+                .description("Cache invalidations received from other nodes")
+                .register(registry);
+        this.resyncCounter = Counter.builder("okr.cache.invalidation.resyncs")
+                .description("Full cache resyncs after missed invalidations")
+                .register(registry);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        outbox.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    // --- Lifecycle ---
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                // Let the thread send what is still queued
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean missed = false;
+        while (running) {
+            try (Connection connection = connect()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.info("Listening for cache invalidations on channel {}", channel);
+                if (missed) {
+                    // Anything sent while we were not listening is lost
+                    resync("LISTEN connection was re-established");
+                    missed = false;
+                }
+                long validatedAt = System.currentTimeMillis();
+                while (running) {
+                    send(connection);
+                    receive(pgConnection.getNotifications());
+                    if (System.currentTimeMillis() - validatedAt > VALIDATE_MILLIS) {
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("LISTEN connection is no longer valid");
+                        }
+                        validatedAt = System.currentTimeMillis();
+                    }
+                    CacheInvalidation next = outbox.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        unsent.add(payload(next));
+                    }
+                }
+                // Shutting down: last attempt to send what is queued
+                send(connection);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                missed = true;
+                logger.warn("Cache invalidation connection failed, reconnecting in {} ms: {}", reconnectMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    // --- Sending ---
+
+    private String payload(CacheInvalidation invalidation) {
+        return invalidation.type() + ":" + (invalidation.id() != null ? invalidation.id() : "")
+                + ":" + invalidation.origin() + ":" + (++sequence);
+    }
+
+    private void send(Connection connection) throws SQLException {
+        CacheInvalidation queued;
+        while ((queued = outbox.poll()) != null) {
+            unsent.add(payload(queued));
+        }
+        if (unsent.isEmpty()) {
+            return;
+        }
+        // One round trip and one transaction; notifications are delivered in array order
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload")) {
+            Array payloads = connection.createArrayOf("text", unsent.toArray());
+            statement.setString(1, channel);
+            statement.setArray(2, payloads);
+            statement.execute();
+        }
+        publishedCounter.increment(unsent.size());
+        unsent.clear();
+    }
+
+    // --- Receiving ---
+
+    private void receive(PGNotification[] notifications) {
+        if (notifications == null) {
+            return;
+        }
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter().split(":", -1);
+            if (parts.length != 4) {
+                logger.warn("Ignoring malformed cache invalidation: {}", notification.getParameter());
+                continue;
+            }
+            CacheInvalidation invalidation;
+            long messageSequence;
+            try {
+                invalidation = new CacheInvalidation(CacheInvalidation.Type.valueOf(parts[0]),
+                        parts[1].isEmpty() ? null : Long.valueOf(parts[1]), parts[2]);
+                messageSequence = Long.parseLong(parts[3]);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed cache invalidation: {}", notification.getParameter());
+                continue;
+            }
+            if (invalidation.isRemote()) {
+                receivedCounter.increment();
+                Long last = lastSequence.get(invalidation.origin());
+                if (last == null || messageSequence > last) {
+                    lastSequence.put(invalidation.origin(), messageSequence);
+                }
+                if (last != null && messageSequence > last + 1) {
+                    deliver(invalidation);
+                    resync("missed " + (messageSequence - last - 1) + " message(s) from node " + invalidation.origin());
+                    continue;
+                }
+            }
+            deliver(invalidation);
+        }
+    }
+
+    private void resync(String reason) {
+        logger.warn("Cache resync: {}", reason);
+        resyncCounter.increment();
+        deliver(CacheInvalidation.resync());
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation subscriber failed for {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+}
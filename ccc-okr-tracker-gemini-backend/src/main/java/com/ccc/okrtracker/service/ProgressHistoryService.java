@@ -0,0 +1,140 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.ProgressSeries;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.exception.ResourceNotFoundException;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import com.ccc.okrtracker.repository.ProgressHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Downsampled progress history series for charts. Points are appended by CalculationService whenever
+ * a node's rolled-up progress changes, and by HierarchyService when a Key Result's progress is set manually.
+ *
+ * On PostgreSQL, progress_history is partitioned by month. This service keeps partitions for the current
+ * and the next PARTITIONS_AHEAD months in place (at startup and nightly), and drops whole partitions
+ * older than app.progress-history.retention-months when that is set.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressHistoryService.class);
+
+    private static final int PARTITIONS_AHEAD = 2;
+    private static final int DEFAULT_RANGE_DAYS = 90;
+    private static final int MAX_POINTS = 1000;
+
+    public enum Bucket {
+        DAY(ChronoUnit.DAYS), WEEK(ChronoUnit.WEEKS), MONTH(ChronoUnit.MONTHS);
+
+        private final ChronoUnit unit;
+
+        Bucket(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public static Bucket fromValue(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown bucket: " + value + " (expected day, week or month)");
+            }
+        }
+
+        String sqlUnit() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ProgressHistoryRepository historyRepo;
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+
+    @Value("${app.progress-history.retention-months:0}")
+    private int retentionMonths;
+
+    /**
+     * Downsampled series of one node between from and to (both inclusive, defaulting to the last 90 days).
+     *
+     * @param level Project down to KeyResult; Action Items have no rolled-up progress.
+     */
+    @Transactional(readOnly = true)
+    public ProgressSeries getSeries(HierarchyLevel level, Long id, Bucket bucket, LocalDate from, LocalDate to) {
+        if (level == HierarchyLevel.ACTION_ITEM) {
+            throw new IllegalArgumentException("Progress history is not kept for Action Items");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (bucket.unit.between(start, end) >= MAX_POINTS) {
+            throw new IllegalArgumentException("Range too large for " + bucket.sqlUnit() + " buckets (max " + MAX_POINTS + ")");
+        }
+
+        Long projectId = readRepo.findProjectId(level, id)
+                .orElseThrow(() -> new ResourceNotFoundException(level.getTypeName(), id));
+        if (!hierarchyService.getAccessibleProjectIds().contains(projectId)) {
+            throw new AccessDeniedException("No access to project " + projectId);
+        }
+
+        LocalDateTime rangeStart = start.atStartOfDay();
+        Integer startProgress = historyRepo.findLastBefore(level, id, rangeStart).orElse(null);
+        List<ProgressSeries.Point> points = historyRepo
+                .findBuckets(level, id, bucket.sqlUnit(), rangeStart, end.plusDays(1).atStartOfDay()).stream()
+                .map(row -> new ProgressSeries.Point(row.bucketStart().toLocalDate(), row.last(), row.min(),
+                        row.max(), row.samples()))
+                .toList();
+        return new ProgressSeries(level.getTypeName(), id, bucket.sqlUnit(), start, end, startProgress, points);
+    }
+
+    // --- Partition maintenance ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 3 * * *")
+    public void maintainPartitions() {
+        try {
+            if (!historyRepo.isPostgres()) {
+                return;
+            }
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+                YearMonth month = current.plusMonths(i);
+                int moved = historyRepo.createMonthlyPartition(month);
+                if (moved > 0) {
+                    logger.info("Moved {} progress history rows of {} from the default partition into their own", moved, month);
+                }
+            }
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = current.minusMonths(retentionMonths);
+                for (YearMonth month : historyRepo.findMonthlyPartitions()) {
+                    if (month.isBefore(oldestKept)) {
+                        historyRepo.dropMonthlyPartition(month);
+                        logger.info("Dropped progress history partition for {}", month);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            // Never fatal: rows land in the default partition, and the next successful run moves them out
+            logger.warn("Progress history partition maintenance failed: {}", e.getMessage());
+        }
+    }
+}
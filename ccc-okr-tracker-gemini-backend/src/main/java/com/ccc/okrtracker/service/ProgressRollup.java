@@ -0,0 +1,131 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.entity.*;
+
+/**
+ * The bottom-up progress rollup over an already loaded Project tree, without any database access.
+ *
+ * - A Key Result with manualProgressSet keeps its value; otherwise it is the rounded average of its
+ *   active Action Items (capped at 100), 0 if all its Action Items are archived, and unchanged if it has none.
+ * - Objectives, Goals, Initiatives and the Project are the rounded average of their active children,
+ *   0 without any. A Project without active Initiatives keeps its value.
+ *
+ * CalculationService loads the tree and persists the result; benchmarks run this on in-memory trees.
+ */
+public final class ProgressRollup {
+
+    private ProgressRollup() {
+    }
+
+    /**
+     * Receives every node whose progress the rollup changed (or set for the first time).
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void changed(HierarchyLevel level, BaseEntity node, int progress);
+    }
+
+    /**
+     * Recompute and set the progress of every active node below and including the project.
+     */
+    public static void rollUp(Project project, ChangeListener listener) {
+        int projTotal = 0;
+        int initCount = 0;
+
+        for (StrategicInitiative init : project.getInitiatives()) {
+            if (!init.getIsActive()) continue;
+
+            int initTotal = 0;
+            int goalCount = 0;
+
+            for (Goal goal : init.getGoals()) {
+                if (!goal.getIsActive()) continue;
+
+                int goalTotal = 0;
+                int objCount = 0;
+
+                for (Objective obj : goal.getObjectives()) {
+                    if (!obj.getIsActive()) continue;
+
+                    int objTotal = 0;
+                    int krCount = 0;
+
+                    for (KeyResult kr : obj.getKeyResults()) {
+                        if (!kr.getIsActive()) continue;
+
+                        int krProgress = keyResultProgress(kr);
+                        report(listener, HierarchyLevel.KEY_RESULT, kr, kr.getProgress(), krProgress);
+                        kr.setProgress(krProgress);
+                        objTotal += krProgress;
+                        krCount++;
+                    }
+
+                    int newObjProgress = average(objTotal, krCount);
+                    report(listener, HierarchyLevel.OBJECTIVE, obj, obj.getProgress(), newObjProgress);
+                    obj.setProgress(newObjProgress);
+                    goalTotal += newObjProgress;
+                    objCount++;
+                }
+
+                int newGoalProgress = average(goalTotal, objCount);
+                report(listener, HierarchyLevel.GOAL, goal, goal.getProgress(), newGoalProgress);
+                goal.setProgress(newGoalProgress);
+                initTotal += newGoalProgress;
+                goalCount++;
+            }
+
+            int newInitProgress = average(initTotal, goalCount);
+            report(listener, HierarchyLevel.INITIATIVE, init, init.getProgress(), newInitProgress);
+            init.setProgress(newInitProgress);
+            projTotal += newInitProgress;
+            initCount++;
+        }
+
+        if (initCount > 0) {
+            int newProjectProgress = average(projTotal, initCount);
+            report(listener, HierarchyLevel.PROJECT, project, project.getProgress(), newProjectProgress);
+            project.setProgress(newProjectProgress);
+        }
+    }
+
+    /**
+     * Progress of one Key Result from its own flag and its Action Items.
+     */
+    public static int keyResultProgress(KeyResult kr) {
+        if (Boolean.TRUE.equals(kr.getManualProgressSet())) {
+            return safeProgress(kr.getProgress());
+        }
+        int activeCount = 0;
+        long sum = 0;
+        boolean hasItems = false;
+        for (ActionItem ai : kr.getActionItems()) {
+            if (ai == null) continue;
+            hasItems = true;
+            if (ai.getIsActive()) {
+                sum += safeProgress(ai.getProgress());
+                activeCount++;
+            }
+        }
+        if (activeCount > 0) {
+            return (int) Math.min(100, Math.round((double) sum / activeCount));
+        }
+        return hasItems ? 0 : safeProgress(kr.getProgress());
+    }
+
+    /**
+     * Rounded average used above the Key Result level; 0 when there is nothing to average.
+     */
+    public static int average(int total, int count) {
+        return count > 0 ? Math.round((float) total / count) : 0;
+    }
+
+    public static int safeProgress(Integer progress) {
+        return progress != null ? progress : 0;
+    }
+
+    private static void report(ChangeListener listener, HierarchyLevel level, BaseEntity node, Integer oldProgress, int newProgress) {
+        if (oldProgress == null || oldProgress != newProgress) {
+            listener.changed(level, node, newProgress);
+        }
+    }
+}
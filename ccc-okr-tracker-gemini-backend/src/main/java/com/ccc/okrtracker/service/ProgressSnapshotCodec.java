@@ -0,0 +1,148 @@
+package com.ccc.okrtracker.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Columnar encoding of one level's progress snapshot as three parallel, deflate-compressed arrays:
+ * ascending node ids as unsigned varint deltas, project ids as zigzag varint deltas (consecutive ids
+ * mostly share a project, so these are runs of zero bytes), and progress as one unsigned byte per node.
+ */
+final class ProgressSnapshotCodec {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ProgressSnapshotCodec() {
+    }
+
+    record Encoded(int count, byte[] nodeIds, byte[] projectIds, byte[] progress) {
+    }
+
+    /**
+     * Decoded snapshot; ids is sorted ascending and all three arrays have the same length.
+     */
+    record Decoded(long[] ids, long[] projectIds, byte[] progress) {
+
+        int size() {
+            return ids.length;
+        }
+
+        int progressAt(int index) {
+            return progress[index] & 0xFF;
+        }
+    }
+
+    /**
+     * Streaming encoder; add() must be called in strictly ascending id order.
+     */
+    static final class Encoder {
+
+        private final ByteArrayOutputStream idBytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream projectBytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream progressBytes = new ByteArrayOutputStream();
+        private final OutputStream ids = compressing(idBytes);
+        private final OutputStream projects = compressing(projectBytes);
+        private final OutputStream progress = compressing(progressBytes);
+        private long lastId;
+        private long lastProjectId;
+        private int count;
+
+        void add(long id, long projectId, int value) {
+            if (count > 0 && id <= lastId) {
+                throw new IllegalStateException("Snapshot ids must be strictly ascending (" + id + " after " + lastId + ")");
+            }
+            try {
+                writeVarLong(ids, id - lastId);
+                writeVarLong(projects, zigzag(projectId - lastProjectId));
+                progress.write(Math.max(0, Math.min(value, 255)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            lastId = id;
+            lastProjectId = projectId;
+            count++;
+        }
+
+        Encoded finish() {
+            try {
+                ids.close();
+                projects.close();
+                progress.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Encoded(count, idBytes.toByteArray(), projectBytes.toByteArray(), progressBytes.toByteArray());
+        }
+    }
+
+    static Decoded decode(int count, byte[] nodeIds, byte[] projectIds, byte[] progress) {
+        long[] ids = new long[count];
+        long[] projects = new long[count];
+        byte[] values = new byte[count];
+        try (InputStream idIn = decompressing(nodeIds);
+             InputStream projectIn = decompressing(projectIds);
+             InputStream progressIn = decompressing(progress)) {
+            long id = 0;
+            long projectId = 0;
+            for (int i = 0; i < count; i++) {
+                id += readVarLong(idIn);
+                projectId += unzigzag(readVarLong(projectIn));
+                ids[i] = id;
+                projects[i] = projectId;
+            }
+            if (progressIn.readNBytes(values, 0, count) != count) {
+                throw new IllegalStateException("Truncated progress snapshot");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Decoded(ids, projects, values);
+    }
+
+    private static OutputStream compressing(OutputStream out) {
+        return new BufferedOutputStream(new DeflaterOutputStream(out), BUFFER_SIZE);
+    }
+
+    private static InputStream decompressing(byte[] bytes) {
+        return new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)), BUFFER_SIZE);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IllegalStateException("Truncated progress snapshot");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in progress snapshot");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
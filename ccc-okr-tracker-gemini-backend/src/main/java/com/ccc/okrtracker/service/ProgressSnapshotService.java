@@ -0,0 +1,213 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.ProgressSnapshotDiff;
+import com.ccc.okrtracker.dto.ProgressSnapshotInfo;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.exception.ResourceNotFoundException;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import com.ccc.okrtracker.repository.ProgressSnapshotRepository;
+import com.ccc.okrtracker.repository.ProgressSnapshotRepository.SnapshotRow;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * End-of-day progress snapshots of the whole hierarchy.
+ *
+ * The nightly job streams every level once in id order and stores it as one compressed columnar row
+ * per level (see ProgressSnapshotCodec), so a day costs a few bytes per node instead of a row per node.
+ * Diffing two dates decodes the two sets of arrays and merge-walks them; no per-node rows are scanned.
+ *
+ * A capture reads all levels in one REPEATABLE READ transaction, so the levels of a snapshot are consistent with
+ * each other even while writes continue. Every application node runs the nightly job; a transaction-level
+ * advisory lock lets the first one capture and the others skip.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressSnapshotService.class);
+
+    private static final int DEFAULT_LIST_DAYS = 90;
+    private static final int MAX_CHANGES = 5000;
+
+    private static final ProgressSnapshotCodec.Decoded EMPTY =
+            new ProgressSnapshotCodec.Decoded(new long[0], new long[0], new byte[0]);
+
+    // Largest movement first; added and removed nodes count from/to zero
+    private static final Comparator<ProgressSnapshotDiff.Change> DIFF_ORDER = Comparator
+            .comparingInt((ProgressSnapshotDiff.Change change) -> -movement(change))
+            .thenComparing(change -> HierarchyLevel.fromType(change.type()))
+            .thenComparing(ProgressSnapshotDiff.Change::id);
+
+    private final ProgressSnapshotRepository snapshotRepo;
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+
+    @Value("${app.progress-snapshots.retention-days:0}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${app.progress-snapshots.cron:0 50 23 * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void captureNightly() {
+        if (!snapshotRepo.tryLockCapture()) {
+            logger.info("Progress snapshot is being captured by another node, skipping");
+            return;
+        }
+        ProgressSnapshotInfo info = capture(LocalDate.now());
+        logger.info("Captured progress snapshot for {} ({} nodes)", info.date(), info.nodeCount());
+        if (retentionDays > 0) {
+            int deleted = snapshotRepo.deleteBefore(info.date().minusDays(retentionDays));
+            if (deleted > 0) {
+                logger.info("Deleted {} progress snapshot rows older than {} days", deleted, retentionDays);
+            }
+        }
+    }
+
+    /**
+     * Captures today's snapshot on demand, replacing one taken earlier today.
+     *
+     * @throws IllegalStateException if another capture is running
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public ProgressSnapshotInfo captureNow() {
+        if (!snapshotRepo.tryLockCapture()) {
+            throw new IllegalStateException("A progress snapshot is already being captured, try again shortly");
+        }
+        return capture(LocalDate.now());
+    }
+
+    private ProgressSnapshotInfo capture(LocalDate date) {
+        List<SnapshotRow> rows = new ArrayList<>();
+        int nodeCount = 0;
+        for (HierarchyLevel level : HierarchyLevel.values()) {
+            ProgressSnapshotCodec.Encoder encoder = new ProgressSnapshotCodec.Encoder();
+            readRepo.streamProgress(level, encoder::add);
+            ProgressSnapshotCodec.Encoded encoded = encoder.finish();
+            rows.add(new SnapshotRow(level, encoded.count(), encoded.nodeIds(), encoded.projectIds(), encoded.progress()));
+            nodeCount += encoded.count();
+        }
+        LocalDateTime capturedAt = LocalDateTime.now();
+        snapshotRepo.replace(date, rows, capturedAt);
+        return new ProgressSnapshotInfo(date, nodeCount, capturedAt);
+    }
+
+    /**
+     * Stored snapshots between from and to (both inclusive, defaulting to the last 90 days), newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressSnapshotInfo> getSnapshots(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_LIST_DAYS);
+        return snapshotRepo.findSummaries(start, end).stream()
+                .map(summary -> new ProgressSnapshotInfo(summary.date(), summary.nodeCount(), summary.createdAt()))
+                .toList();
+    }
+
+    /**
+     * Nodes whose progress differs between the snapshots of two dates, including nodes that only
+     * exist in one of them.
+     *
+     * @param projectIds Projects to include; null or empty means all accessible projects (archived ones too,
+     *                   since they may have been active on either date).
+     * @param types      Levels to compare (type names or URL segments); null or empty means all.
+     * @param limit      Maximum number of listed changes, clamped to 1..5000.
+     */
+    @Transactional(readOnly = true)
+    public ProgressSnapshotDiff diff(LocalDate from, LocalDate to, Collection<Long> projectIds,
+                                     Collection<String> types, int limit) {
+        Set<HierarchyLevel> levels = HierarchyLevel.fromTypes(types);
+        Set<Long> scope = resolveProjects(projectIds);
+        for (LocalDate date : List.of(from, to)) {
+            if (!snapshotRepo.exists(date)) {
+                throw new ResourceNotFoundException("Progress snapshot", "date", date);
+            }
+        }
+
+        List<ProgressSnapshotDiff.Change> changes = new ArrayList<>();
+        int changed = 0;
+        int added = 0;
+        int removed = 0;
+        for (HierarchyLevel level : levels) {
+            ProgressSnapshotCodec.Decoded before = load(from, level);
+            ProgressSnapshotCodec.Decoded after = load(to, level);
+            String type = level.getTypeName();
+            int i = 0;
+            int j = 0;
+            // Both id arrays are sorted ascending
+            while (i < before.size() || j < after.size()) {
+                long beforeId = i < before.size() ? before.ids()[i] : Long.MAX_VALUE;
+                long afterId = j < after.size() ? after.ids()[j] : Long.MAX_VALUE;
+                if (beforeId == afterId) {
+                    if (before.progressAt(i) != after.progressAt(j) && scope.contains(after.projectIds()[j])) {
+                        changes.add(new ProgressSnapshotDiff.Change(type, afterId, after.projectIds()[j],
+                                before.progressAt(i), after.progressAt(j)));
+                        changed++;
+                    }
+                    i++;
+                    j++;
+                } else if (beforeId < afterId) {
+                    if (scope.contains(before.projectIds()[i])) {
+                        changes.add(new ProgressSnapshotDiff.Change(type, beforeId, before.projectIds()[i],
+                                before.progressAt(i), null));
+                        removed++;
+                    }
+                    i++;
+                } else {
+                    if (scope.contains(after.projectIds()[j])) {
+                        changes.add(new ProgressSnapshotDiff.Change(type, afterId, after.projectIds()[j],
+                                null, after.progressAt(j)));
+                        added++;
+                    }
+                    j++;
+                }
+            }
+        }
+
+        int max = Math.max(1, Math.min(limit, MAX_CHANGES));
+        changes.sort(DIFF_ORDER);
+        boolean truncated = changes.size() > max;
+        return new ProgressSnapshotDiff(from, to, changed, added, removed, truncated,
+                truncated ? List.copyOf(changes.subList(0, max)) : changes);
+    }
+
+    private ProgressSnapshotCodec.Decoded load(LocalDate date, HierarchyLevel level) {
+        return snapshotRepo.find(date, level)
+                .map(row -> ProgressSnapshotCodec.decode(row.nodeCount(), row.nodeIds(), row.projectIds(), row.progress()))
+                .orElse(EMPTY);
+    }
+
+    private Set<Long> resolveProjects(Collection<Long> projectIds) {
+        Set<Long> accessible = hierarchyService.getAccessibleProjectIdsIncludingArchived();
+        if (projectIds == null || projectIds.isEmpty()) {
+            return accessible;
+        }
+        for (Long projectId : projectIds) {
+            if (!accessible.contains(projectId)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+        }
+        return new LinkedHashSet<>(projectIds);
+    }
+
+    private static int movement(ProgressSnapshotDiff.Change change) {
+        int before = change.fromProgress() != null ? change.fromProgress() : 0;
+        int after = change.toProgress() != null ? change.toProgress() : 0;
+        return Math.abs(after - before);
+    }
+}
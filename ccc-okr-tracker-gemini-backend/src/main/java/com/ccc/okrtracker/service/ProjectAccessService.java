@@ -1,19 +1,28 @@
 package com.ccc.okrtracker.service;
 
 import com.ccc.okrtracker.entity.*;
+import com.ccc.okrtracker.event.CacheInvalidation;
 import com.ccc.okrtracker.repository.*;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing project access control.
  * Handles both direct user-project assignments and role-based project scoping.
  * Uses JdbcTemplate repositories for join table management.
+ *
+ * getAccessibleProjectIdsCached() keeps the result per user in memory for per-keystroke callers (typeahead).
+ * Entries are tagged with two generations moved by the CacheInvalidationBus: any user, role or role scope
+ * change moves the access generation, any hierarchy change the project generation, which only matters for
+ * VIEW_ALL_PROJECTS users (their set is every active project). A resync moves both.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,6 +34,29 @@ public class ProjectAccessService {
     private final RoleRepository roleRepo;
     private final UserProjectRepository userProjectRepo;
     private final RoleProjectRepository roleProjectRepo;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Map<Long, CachedAccess> accessCache = new ConcurrentHashMap<>();
+    private final AtomicLong accessGeneration = new AtomicLong();
+    private final AtomicLong projectGeneration = new AtomicLong();
+
+    private record CachedAccess(long accessGeneration, long projectGeneration, boolean allProjects, Set<Long> projectIds) {
+    }
+
+    @PostConstruct
+    void subscribe() {
+        // Local messages count too: this node's own access changes are published after commit as well
+        invalidationBus.subscribe(invalidation -> {
+            switch (invalidation.type()) {
+                case PROJECT -> projectGeneration.incrementAndGet();
+                case USER, ROLE, ROLE_SCOPE -> accessGeneration.incrementAndGet();
+                case ALL -> {
+                    accessGeneration.incrementAndGet();
+                    projectGeneration.incrementAndGet();
+                }
+            }
+        });
+    }
 
     /**
      * Get all project IDs a user can access based on:
@@ -34,17 +66,24 @@ public class ProjectAccessService {
      * 4. Primary project (backward compatibility)
      */
     public Set<Long> getAccessibleProjectIds(User user) {
+        return getAccessibleProjectIds(user, false);
+    }
+
+    /**
+     * Same as getAccessibleProjectIds(User), optionally including archived (soft-deleted) projects
+     * for VIEW_ALL_PROJECTS users. Explicit assignments are returned regardless of project state.
+     */
+    public Set<Long> getAccessibleProjectIds(User user, boolean includeArchived) {
         Set<Long> accessibleIds = new HashSet<>();
         
         log.debug("Getting accessible projects for user: {} (ID: {})", user.getEmail(), user.getId());
 
         // Check for global bypass permission
-        boolean hasViewAll = user.getRoles().stream()
-            .flatMap(r -> r.getPermissions().stream())
-            .anyMatch(p -> "VIEW_ALL_PROJECTS".equals(p));
-
-        if (hasViewAll) {
+        if (hasViewAll(user)) {
             log.debug("User has VIEW_ALL_PROJECTS permission - granting access to all projects");
+            if (includeArchived) {
+                return new HashSet<>(projectRepo.findAllIds());
+            }
             return projectRepo.findByIsActiveTrue().stream()
                 .map(Project::getId)
                 .collect(Collectors.toSet());
@@ -74,6 +113,30 @@ public class ProjectAccessService {
         return accessibleIds;
     }
 
+    /**
+     * Same as getAccessibleProjectIds(User) (active projects only), from memory while no access change or, for
+     * VIEW_ALL_PROJECTS users, no hierarchy change has been published since it was resolved. Unmodifiable.
+     */
+    public Set<Long> getAccessibleProjectIdsCached(User user) {
+        // Read the generations before resolving: a change committed meanwhile leaves the new entry stale
+        long access = accessGeneration.get();
+        long projects = projectGeneration.get();
+        CachedAccess cached = accessCache.get(user.getId());
+        if (cached != null && cached.accessGeneration() == access
+                && (!cached.allProjects() || cached.projectGeneration() == projects)) {
+            return cached.projectIds();
+        }
+        Set<Long> projectIds = Set.copyOf(getAccessibleProjectIds(user));
+        accessCache.put(user.getId(), new CachedAccess(access, projects, hasViewAll(user), projectIds));
+        return projectIds;
+    }
+
+    private static boolean hasViewAll(User user) {
+        return user.getRoles().stream()
+            .flatMap(r -> r.getPermissions().stream())
+            .anyMatch(p -> "VIEW_ALL_PROJECTS".equals(p));
+    }
+
     /**
      * Check if user can access a specific project.
      */
@@ -105,10 +168,7 @@ public class ProjectAccessService {
         }
 
         // Check VIEW_ALL_PROJECTS permission
-        boolean hasViewAll = user.getRoles().stream()
-            .flatMap(r -> r.getPermissions().stream())
-            .anyMatch(p -> "VIEW_ALL_PROJECTS".equals(p));
-        if (hasViewAll) {
+        if (hasViewAll(user)) {
             return AccessLevel.VIEWER;
         }
 
@@ -127,6 +187,7 @@ public class ProjectAccessService {
             .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
 
         userProjectRepo.assignUserToProject(userId, projectId, accessLevel, assignedBy);
+        userChanged(userId);
     }
 
     /**
@@ -135,6 +196,7 @@ public class ProjectAccessService {
     @Transactional
     public void removeUserFromProject(Long userId, Long projectId) {
         userProjectRepo.removeUserFromProject(userId, projectId);
+        userChanged(userId);
     }
 
     /**
@@ -160,6 +222,7 @@ public class ProjectAccessService {
             .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
 
         roleProjectRepo.addProjectToRole(roleId, projectId);
+        roleScopeChanged(roleId);
     }
 
     /**
@@ -168,6 +231,7 @@ public class ProjectAccessService {
     @Transactional
     public void removeProjectFromRole(Long roleId, Long projectId) {
         roleProjectRepo.removeProjectFromRole(roleId, projectId);
+        roleScopeChanged(roleId);
     }
 
     /**
@@ -200,6 +264,7 @@ public class ProjectAccessService {
                 .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
             userProjectRepo.assignUserToProject(userId, projectId, defaultLevel, assignedBy);
         }
+        userChanged(userId);
     }
 
     /**
@@ -227,6 +292,16 @@ public class ProjectAccessService {
             log.debug("Added project {} to role {}", projectId, roleId);
         }
         
+        roleScopeChanged(roleId);
         log.info("Successfully updated role {} with {} scoped projects", roleId, projectIds.size());
     }
+
+    // The join tables are written with JdbcTemplate, so Hibernate does not see these changes: tell the other nodes
+    private void userChanged(Long userId) {
+        invalidationBus.publishAfterCommit(CacheInvalidation.of(CacheInvalidation.Type.USER, userId));
+    }
+
+    private void roleScopeChanged(Long roleId) {
+        invalidationBus.publishAfterCommit(CacheInvalidation.of(CacheInvalidation.Type.ROLE_SCOPE, roleId));
+    }
 }
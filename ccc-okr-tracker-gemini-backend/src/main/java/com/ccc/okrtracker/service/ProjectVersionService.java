@@ -0,0 +1,65 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.event.CacheInvalidation;
+import com.ccc.okrtracker.event.HierarchyChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counter per project, bumped after every committed HierarchyChangedEvent, whether it was
+ * committed on this node or (through the CacheInvalidationBus) on another one.
+ *
+ * Caches of per-project derived data store the version they were computed at and treat an entry as
+ * stale once the counter has moved. Read the version before loading: a change that commits while
+ * the load is running then makes the new entry stale right away instead of being lost. A bus resync
+ * moves the versions of all projects at once.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectVersionService {
+
+    private final CacheInvalidationBus bus;
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // Added to every project's version; both only grow, so their sum moves whenever either does
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(invalidation -> {
+            if (!invalidation.isRemote()) {
+                return;
+            }
+            if (invalidation.type() == CacheInvalidation.Type.PROJECT && invalidation.id() != null) {
+                bump(invalidation.id());
+            } else if (invalidation.type() == CacheInvalidation.Type.ALL) {
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    public long current(Long projectId) {
+        AtomicLong version = versions.get(projectId);
+        return generation.get() + (version != null ? version.get() : 0L);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHierarchyChanged(HierarchyChangedEvent event) {
+        if (event.projectId() != null) {
+            bump(event.projectId());
+            bus.publish(CacheInvalidation.of(CacheInvalidation.Type.PROJECT, event.projectId()));
+        }
+    }
+
+    public long bump(Long projectId) {
+        return generation.get() + versions.computeIfAbsent(projectId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
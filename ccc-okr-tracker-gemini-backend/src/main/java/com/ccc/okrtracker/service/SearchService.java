@@ -0,0 +1,128 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.HierarchyNode;
+import com.ccc.okrtracker.dto.SearchHit;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import com.ccc.okrtracker.repository.HierarchySearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search across the hierarchy, restricted to the caller's accessible projects.
+ * One ranked search query plus at most one query per ancestor level to build breadcrumbs.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MAX_RESULTS = 50;
+    private static final int MAX_TERMS = 8;
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private final HierarchySearchRepository searchRepo;
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+
+    /**
+     * @param query     Free text; every word must match as a word prefix (case-insensitive, stemmed).
+     * @param types     Levels to search (type names or URL segments); null or empty means all levels.
+     * @param projectId Restrict to one accessible project, or null for all accessible projects.
+     * @param limit     Maximum results, clamped to 1..50.
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHit> search(String query, Collection<String> types, Long projectId, int limit) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return List.of();
+        }
+        Set<Long> projectIds = hierarchyService.getAccessibleProjectIds();
+        if (projectId != null) {
+            if (!projectIds.contains(projectId)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+            projectIds = Set.of(projectId);
+        }
+
+        int maxResults = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<SearchHit> hits = searchRepo.search(tsQuery, HierarchyLevel.fromTypes(types), projectIds, maxResults);
+        return withBreadcrumbs(hits);
+    }
+
+    /**
+     * Load the ancestors of all hits level by level (Action Item parents first, up to Projects)
+     * and attach each hit's path from its Project down to its direct parent.
+     */
+    private List<SearchHit> withBreadcrumbs(List<SearchHit> hits) {
+        if (hits.isEmpty()) {
+            return hits;
+        }
+        Map<HierarchyLevel, Map<Long, HierarchyNode>> ancestors = new EnumMap<>(HierarchyLevel.class);
+        Map<HierarchyLevel, Set<Long>> wanted = new EnumMap<>(HierarchyLevel.class);
+        for (SearchHit hit : hits) {
+            HierarchyLevel parent = HierarchyLevel.fromType(hit.type()).parent();
+            if (parent != null && hit.parentId() != null) {
+                wanted.computeIfAbsent(parent, l -> new HashSet<>()).add(hit.parentId());
+            }
+        }
+        for (HierarchyLevel level = HierarchyLevel.ACTION_ITEM.parent(); level != null; level = level.parent()) {
+            Set<Long> ids = wanted.getOrDefault(level, Set.of());
+            Map<Long, HierarchyNode> loaded = new HashMap<>();
+            for (HierarchyNode node : readRepo.findByIds(level, ids)) {
+                loaded.put(node.id(), node);
+                if (level.parent() != null && node.parentId() != null) {
+                    wanted.computeIfAbsent(level.parent(), l -> new HashSet<>()).add(node.parentId());
+                }
+            }
+            ancestors.put(level, loaded);
+        }
+
+        List<SearchHit> result = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            List<SearchHit.PathEntry> path = new ArrayList<>();
+            HierarchyLevel level = HierarchyLevel.fromType(hit.type()).parent();
+            Long id = hit.parentId();
+            while (level != null && id != null) {
+                HierarchyNode node = ancestors.get(level).get(id);
+                if (node == null) {
+                    break;
+                }
+                path.add(new SearchHit.PathEntry(node.type(), node.id(), node.title()));
+                id = node.parentId();
+                level = level.parent();
+            }
+            Collections.reverse(path);
+            result.add(hit.withPath(path));
+        }
+        return result;
+    }
+
+    // "Launch beta-2" -> "launch:* & beta:* & 2:*". Only letters and digits reach to_tsquery, so user input
+    // can never form tsquery operators; returns null when nothing searchable is left.
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(query.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            terms.add(matcher.group() + ":*");
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.dto.TimelineItem;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.repository.TimelineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gantt timeline: dated Objectives, Key Results and Action Items inside a date window.
+ * Each requested level is read with its own index-ordered query (at most limit rows each)
+ * and the results are merged in memory into one (dueDate, level, id) ordered page.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final Set<HierarchyLevel> TIMELINE_LEVELS =
+            EnumSet.of(HierarchyLevel.OBJECTIVE, HierarchyLevel.KEY_RESULT, HierarchyLevel.ACTION_ITEM);
+
+    // Earliest due date first; on the same day parents come before children, then lowest ID first
+    private static final Comparator<TimelineItem> TIMELINE_ORDER = Comparator
+            .comparing(TimelineItem::dueDate)
+            .thenComparing(item -> HierarchyLevel.fromType(item.type()))
+            .thenComparing(TimelineItem::id);
+
+    private final TimelineRepository timelineRepo;
+    private final HierarchyService hierarchyService;
+
+    /**
+     * One keyset page of items due between from and to (inclusive).
+     *
+     * @param projectIds Projects to include; null or empty means all accessible projects.
+     * @param types      Objective, KeyResult and/or ActionItem (type names or URL segments); null or empty means all three.
+     * @param after      nextCursor of the previous page, or null for the first page.
+     * @param limit      Page size, clamped to 1..500.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<TimelineItem> getTimeline(LocalDate from, LocalDate to, Collection<Long> projectIds,
+                                                Collection<String> types, String after, int limit) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        Set<HierarchyLevel> levels = types == null || types.isEmpty() ? TIMELINE_LEVELS : HierarchyLevel.fromTypes(types);
+        if (!TIMELINE_LEVELS.containsAll(levels)) {
+            throw new IllegalArgumentException("Timeline type must be Objective, KeyResult or ActionItem");
+        }
+        Set<Long> scope = resolveProjects(projectIds);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TimelineItem cursor = after != null && !after.isBlank() ? decodeCursor(after) : null;
+
+        List<TimelineItem> merged = new ArrayList<>();
+        for (HierarchyLevel level : levels) {
+            merged.addAll(timelineRepo.findDue(level, scope, from, to, cursor, pageSize));
+        }
+        merged.sort(TIMELINE_ORDER);
+        List<TimelineItem> page = merged.size() > pageSize ? merged.subList(0, pageSize) : merged;
+        return KeysetPage.of(page, pageSize, TimelineService::encodeCursor);
+    }
+
+    private Set<Long> resolveProjects(Collection<Long> projectIds) {
+        Set<Long> accessible = hierarchyService.getAccessibleProjectIds();
+        if (projectIds == null || projectIds.isEmpty()) {
+            return accessible;
+        }
+        for (Long projectId : projectIds) {
+            if (!accessible.contains(projectId)) {
+                throw new AccessDeniedException("No access to project " + projectId);
+            }
+        }
+        return new LinkedHashSet<>(projectIds);
+    }
+
+    // Cursor is an opaque URL-safe token of "dueDate|type|id" taken from the last item of a page
+    private static String encodeCursor(TimelineItem item) {
+        String raw = item.dueDate() + "|" + item.type() + "|" + item.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimelineItem decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid timeline cursor");
+            }
+            return new TimelineItem(HierarchyLevel.fromType(parts[1]).getTypeName(), Long.valueOf(parts[2]),
+                    null, null, null, null, null, LocalDate.parse(parts[0]), null, null, null);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor", e);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.dto.TitleMatch;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.event.CacheInvalidation;
+import com.ccc.okrtracker.event.HierarchyChangedEvent;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory trigram index over the titles of all active hierarchy nodes, for typeahead.
+ *
+ * The index is split into one immutable segment per project. A segment stores its nodes in parallel
+ * arrays addressed by node ordinal, and maps every title trigram to a sorted int[] posting list of
+ * ordinals. A query intersects the posting lists of its trigrams and verifies the candidates with a
+ * substring check. Queries shorter than three characters scan the titles of a segment instead.
+ *
+ * The full index is built at startup (by WarmupService) by streaming every level once. After that, each
+ * HierarchyChangedEvent rebuilds only the affected project's segment, once its transaction has committed;
+ * changes committed on other nodes arrive through the CacheInvalidationBus, and a bus resync rebuilds everything.
+ * All of this runs on the service's own "title-index" thread, never on a request or bus thread, and a project
+ * that is already queued is not queued again. Segments are swapped copy-on-write, so readers never lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class TitleIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TitleIndexService.class);
+
+    private static final int MAX_RESULTS = 50;
+
+    private final HierarchyReadRepository readRepo;
+    private final HierarchyService hierarchyService;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus bus;
+
+    // Serializes rebuilds; a lock rather than synchronized, which would pin a virtual thread during the JDBC reads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Reindexing after local commits and bus messages; queued ids and a queued rebuild are not queued twice
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "title-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Long> queuedProjects = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private volatile Map<Long, Segment> segments = Map.of();
+    private volatile boolean ready;
+
+    /**
+     * Titles containing the query (case-insensitive) in the current user's accessible projects.
+     * Title-prefix matches come first, then higher levels, then shorter titles. Every match in every accessible
+     * project is ranked; only the best {@code limit} are kept while scanning, so the result does not depend on the
+     * order of the projects.
+     *
+     * @param types Levels to include (type names or URL segments); null or empty means all levels.
+     * @param limit Maximum results, clamped to 1..50.
+     */
+    public List<TitleMatch> search(String query, Collection<String> types, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        Set<HierarchyLevel> levels = HierarchyLevel.fromTypes(types);
+        long[] trigrams = needle.length() >= 3 ? trigrams(needle) : null;
+
+        Comparator<Candidate> ranking = Comparator.comparing((Candidate c) -> !c.lowerTitle().startsWith(needle))
+                .thenComparing(Candidate::level)
+                .thenComparingInt(c -> c.lowerTitle().length())
+                .thenComparing(Candidate::lowerTitle)
+                .thenComparingLong(Candidate::id);
+        TopMatches top = new TopMatches(Math.max(1, Math.min(limit, MAX_RESULTS)), ranking);
+
+        Map<Long, Segment> current = segments;
+        // Cached per user; the database is only asked again after an access or (for VIEW_ALL_PROJECTS) project change
+        for (Long projectId : hierarchyService.getAccessibleProjectIdsCached()) {
+            Segment segment = current.get(projectId);
+            if (segment != null) {
+                segment.collect(needle, trigrams, levels, top);
+            }
+        }
+
+        return top.ranked().stream()
+                .map(c -> new TitleMatch(c.level().getTypeName(), c.id(), c.projectId(), c.title()))
+                .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return segments.values().stream().mapToInt(segment -> segment.ids().length).sum();
+    }
+
+    /**
+     * Rebuild the whole index with one streaming scan per level.
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            Map<Long, SegmentBuilder> builders = new HashMap<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (HierarchyLevel level : HierarchyLevel.values()) {
+                    readRepo.streamTitles(level, null, (id, projectId, title) ->
+                            builders.computeIfAbsent(projectId, p -> new SegmentBuilder()).add(id, level, title));
+                }
+            });
+            Map<Long, Segment> built = new HashMap<>();
+            builders.forEach((projectId, builder) -> built.put(projectId, builder.build(projectId)));
+            segments = Map.copyOf(built);
+            ready = true;
+            logger.info("Title index built: {} nodes in {} projects ({} ms)",
+                    size(), built.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onHierarchyChanged(HierarchyChangedEvent event) {
+        // The write's response must not wait for the index, which may be in the middle of a full rebuild
+        if (event.projectId() != null) {
+            queueReindex(event.projectId());
+        }
+    }
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(invalidation -> {
+            if (!invalidation.isRemote()) {
+                return;
+            }
+            // The bus thread must stay free for other invalidations; reindexing reads the database and waits for rebuilds
+            if (invalidation.type() == CacheInvalidation.Type.PROJECT && invalidation.id() != null) {
+                queueReindex(invalidation.id());
+            } else if (invalidation.type() == CacheInvalidation.Type.ALL && ready) {
+                if (rebuildQueued.compareAndSet(false, true)) {
+                    indexer.execute(() -> {
+                        rebuildQueued.set(false);
+                        runLogged("rebuild", this::rebuild);
+                    });
+                }
+            }
+        });
+    }
+
+    private void queueReindex(Long projectId) {
+        if (queuedProjects.add(projectId)) {
+            indexer.execute(() -> {
+                queuedProjects.remove(projectId);
+                runLogged("reindex of project " + projectId, () -> reindexProject(projectId));
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    private static void runLogged(String what, Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Title index {} failed, typeahead may be stale until the next change: {}", what, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reload one project's titles and swap in its new segment.
+     */
+    public void reindexProject(Long projectId) {
+        lock.lock();
+        try {
+            SegmentBuilder builder = new SegmentBuilder();
+            for (HierarchyLevel level : HierarchyLevel.values()) {
+                readRepo.streamTitles(level, projectId, (id, p, title) -> builder.add(id, level, title));
+            }
+            Map<Long, Segment> next = new HashMap<>(segments);
+            if (builder.isEmpty()) {
+                next.remove(projectId);
+            } else {
+                next.put(projectId, builder.build(projectId));
+            }
+            segments = Map.copyOf(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Segment ---
+
+    private record Candidate(HierarchyLevel level, long id, long projectId, String title, String lowerTitle) {
+    }
+
+    /**
+     * One project's nodes. Arrays are indexed by node ordinal; postings map a packed trigram to the
+     * ascending ordinals of the titles containing it.
+     */
+    private record Segment(long projectId, long[] ids, HierarchyLevel[] levels, String[] titles,
+                           String[] lowerTitles, Map<Long, int[]> postings) {
+
+        void collect(String needle, long[] trigrams, Set<HierarchyLevel> wanted, TopMatches out) {
+            if (trigrams == null) {
+                for (int ord = 0; ord < ids.length; ord++) {
+                    accept(ord, needle, wanted, out);
+                }
+                return;
+            }
+            int[][] lists = new int[trigrams.length][];
+            for (int i = 0; i < trigrams.length; i++) {
+                lists[i] = postings.get(trigrams[i]);
+                if (lists[i] == null) {
+                    return;
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            for (int ord : intersect(lists)) {
+                accept(ord, needle, wanted, out);
+            }
+        }
+
+        private void accept(int ord, String needle, Set<HierarchyLevel> wanted, TopMatches out) {
+            // Trigrams only narrow the candidates; the substring check decides
+            if (wanted.contains(levels[ord]) && lowerTitles[ord].contains(needle)) {
+                out.offer(new Candidate(levels[ord], ids[ord], projectId, titles[ord], lowerTitles[ord]));
+            }
+        }
+    }
+
+    /**
+     * The best {@code limit} candidates seen so far, in a heap with the worst on top, so a query over many
+     * projects keeps at most {@code limit} matches instead of all of them.
+     */
+    private static final class TopMatches {
+        private final int limit;
+        private final Comparator<Candidate> ranking;
+        private final PriorityQueue<Candidate> heap;
+
+        TopMatches(int limit, Comparator<Candidate> ranking) {
+            this.limit = limit;
+            this.ranking = ranking;
+            this.heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        }
+
+        void offer(Candidate candidate) {
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (ranking.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+
+        List<Candidate> ranked() {
+            List<Candidate> result = new ArrayList<>(heap);
+            result.sort(ranking);
+            return result;
+        }
+    }
+
+    private static final class SegmentBuilder {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<HierarchyLevel> levels = new ArrayList<>();
+        private final List<String> titles = new ArrayList<>();
+
+        void add(long id, HierarchyLevel level, String title) {
+            ids.add(id);
+            levels.add(level);
+            titles.add(title);
+        }
+
+        boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        Segment build(long projectId) {
+            int size = ids.size();
+            long[] idArray = new long[size];
+            String[] lower = new String[size];
+            Map<Long, IntList> postingBuilders = new HashMap<>();
+            for (int ord = 0; ord < size; ord++) {
+                idArray[ord] = ids.get(ord);
+                lower[ord] = normalize(titles.get(ord));
+                for (long trigram : trigrams(lower[ord])) {
+                    postingBuilders.computeIfAbsent(trigram, t -> new IntList()).add(ord);
+                }
+            }
+            Map<Long, int[]> postings = new HashMap<>(postingBuilders.size() * 2);
+            postingBuilders.forEach((trigram, list) -> postings.put(trigram, list.toArray()));
+            return new Segment(projectId, idArray, levels.toArray(HierarchyLevel[]::new),
+                    titles.toArray(String[]::new), lower, postings);
+        }
+    }
+
+    // Growable int array; ordinals are added in ascending order, so posting lists come out sorted
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    // --- Helpers ---
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct trigrams of a normalized string, each packed as three 16-bit chars
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        return IntStream.rangeClosed(0, text.length() - 3)
+                .mapToLong(i -> ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2))
+                .distinct()
+                .toArray();
+    }
+
+    // Intersection of ascending int arrays, shortest first
+    private static int[] intersect(int[][] lists) {
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            int[] other = lists[i];
+            int[] merged = new int[Math.min(result.length, other.length)];
+            int a = 0, b = 0, n = 0;
+            while (a < result.length && b < other.length) {
+                if (result[a] < other[b]) {
+                    a++;
+                } else if (result[a] > other[b]) {
+                    b++;
+                } else {
+                    merged[n++] = result[a];
+                    a++;
+                    b++;
+                }
+            }
+            result = Arrays.copyOf(merged, n);
+        }
+        return result;
+    }
+}
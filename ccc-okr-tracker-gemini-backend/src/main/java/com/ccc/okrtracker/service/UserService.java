@@ -1,9 +1,12 @@
 package com.ccc.okrtracker.service;
 
+import com.ccc.okrtracker.dto.KeysetPage;
+import com.ccc.okrtracker.dto.UserDirectoryEntry;
 import com.ccc.okrtracker.entity.Role;
 import com.ccc.okrtracker.entity.User;
 import com.ccc.okrtracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -11,6 +14,8 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,8 +24,41 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
 
+    /**
+     * Typeahead search over active users by login, email, first name or last name prefix.
+     * Results are ordered by login and paginated by keyset: pass the returned nextCursor as 'after'.
+     *
+     * @param query Prefix to match (case-insensitive); blank returns all active users.
+     * @param after Cursor from the previous page, or null for the first page.
+     * @param limit Page size, clamped to 1..100.
+     */
+    public KeysetPage<UserDirectoryEntry> searchDirectory(String query, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_DIRECTORY_PAGE_SIZE));
+        String afterLogin = after != null ? after : "";
+        PageRequest page = PageRequest.of(0, pageSize);
+
+        List<UserDirectoryEntry> entries;
+        if (query == null || query.isBlank()) {
+            entries = userRepository.findActiveDirectoryPage(afterLogin, page);
+        } else {
+            entries = userRepository.searchActiveDirectoryPage(toLikePrefix(query), afterLogin, page);
+        }
+        return KeysetPage.of(entries, pageSize, UserDirectoryEntry::login);
+    }
+
+    // Lower-cases the input and escapes LIKE wildcards so user input is matched literally
+    private static String toLikePrefix(String query) {
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
     /**
      * Looks up the application User by the 'email' claim from the JWT and extracts application permissions.
      * Permissions are formatted as "PERMISSION_NAME" (e.g., "MANAGE_USERS") for Spring Security.
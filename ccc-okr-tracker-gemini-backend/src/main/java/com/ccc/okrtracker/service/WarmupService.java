@@ -0,0 +1,155 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.entity.Project;
+import com.ccc.okrtracker.entity.User;
+import com.ccc.okrtracker.monitoring.OkrMetrics;
+import com.ccc.okrtracker.repository.HierarchyReadRepository;
+import com.ccc.okrtracker.repository.ProjectRepository;
+import com.ccc.okrtracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Startup warm-up, run in parallel once the context is up and before the application reports itself ready:
+ * Spring Boot only switches readiness to ACCEPTING_TRAFFIC after the ApplicationReadyEvent listeners returned,
+ * so the load balancer keeps sending users to the old node until this is done.
+ *
+ * - titleIndex: builds the in-memory title index (always, typeahead depends on it)
+ * - readModel: reads the hierarchy read model of all active projects down to app.warmup.depth, warming the
+ *   JDBC row mapping code paths and the database buffer cache
+ * - users: loads every active user with roles and permissions, as the per-request authority mapping does
+ * - access: resolves (and caches) the accessible projects of the first app.warmup.access-users active users
+ *
+ * Failures are logged and do not stop the application. The startup timing is logged at the end and the
+ * task durations are recorded as okr.startup.warmup.
+ */
+@Service
+@RequiredArgsConstructor
+public class WarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    private final TitleIndexService titleIndex;
+    private final HierarchyReadRepository readRepo;
+    private final ProjectRepository projectRepo;
+    private final UserRepository userRepo;
+    private final ProjectAccessService projectAccessService;
+    private final TransactionTemplate transactionTemplate;
+    private final OkrMetrics metrics;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.depth:ACTION_ITEM}")
+    private HierarchyLevel depth;
+
+    @Value("${app.warmup.access-users:50}")
+    private int accessUsers;
+
+    @Value("${app.warmup.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        Map<String, Runnable> tasks = new LinkedHashMap<>();
+        tasks.put("titleIndex", titleIndex::rebuild);
+        if (enabled) {
+            tasks.put("readModel", this::warmReadModel);
+            tasks.put("users", this::warmUsers);
+            tasks.put("access", this::warmAccess);
+        }
+
+        Map<String, Long> millis = new LinkedHashMap<>();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size(),
+                runnable -> new Thread(runnable, "warmup-" + threads.incrementAndGet()));
+        try {
+            List<CompletableFuture<Void>> futures = tasks.entrySet().stream()
+                    .map(task -> CompletableFuture.runAsync(() -> {
+                        long taskStart = System.nanoTime();
+                        try {
+                            task.getValue().run();
+                        } catch (RuntimeException e) {
+                            logger.warn("Warm-up task {} failed: {}", task.getKey(), e.getMessage());
+                        }
+                        long elapsed = System.nanoTime() - taskStart;
+                        metrics.recordWarmup(task.getKey(), elapsed);
+                        synchronized (millis) {
+                            millis.put(task.getKey(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+                        }
+                    }, executor))
+                    .toList();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("Warm-up did not complete within {}s, continuing: {}", timeoutSeconds, e.toString());
+        } finally {
+            executor.shutdown();
+        }
+
+        String taskTimes;
+        synchronized (millis) {
+            taskTimes = millis.entrySet().stream()
+                    .map(entry -> entry.getKey() + " " + entry.getValue() + " ms")
+                    .collect(Collectors.joining(", "));
+        }
+        // Spring Boot only switches to virtual threads on Java 21 and silently keeps platform threads otherwise
+        boolean virtual = virtualThreads && Runtime.version().feature() >= 21;
+        if (virtualThreads && !virtual) {
+            logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on platform threads (build with -Pvirtual-threads and run on Java 21)", Runtime.version().feature());
+        }
+        logger.info("Startup: context ready in {} ms, warm-up {} ms ({}), JVM up {} ms, {} threads",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), taskTimes,
+                ManagementFactory.getRuntimeMXBean().getUptime(), virtual ? "virtual" : "platform");
+    }
+
+    private void warmReadModel() {
+        List<Long> projectIds = projectRepo.findByIsActiveTrue().stream().map(Project::getId).toList();
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        for (HierarchyLevel level : HierarchyLevel.values()) {
+            if (level.ordinal() > depth.ordinal()) {
+                break;
+            }
+            readRepo.findByProjects(level, projectIds, false);
+        }
+    }
+
+    private void warmUsers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User user : userRepo.findByIsActiveTrue()) {
+                user.getRoles().forEach(role -> role.getPermissions().size());
+            }
+        });
+    }
+
+    private void warmAccess() {
+        transactionTemplate.executeWithoutResult(status -> userRepo.findByIsActiveTrue(PageRequest.of(0, accessUsers))
+                .forEach(projectAccessService::getAccessibleProjectIdsCached));
+    }
+}
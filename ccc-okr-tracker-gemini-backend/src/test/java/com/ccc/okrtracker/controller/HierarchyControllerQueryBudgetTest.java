@@ -0,0 +1,96 @@
+package com.ccc.okrtracker.controller;
+
+import com.ccc.okrtracker.monitoring.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets of the hierarchy read endpoints, counted by QueryStatsFilter and including the
+ * per-request user lookup. A budget failure lists the slowest statements; usually a lazy collection that is no
+ * longer fetched in bulk.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HierarchyControllerQueryBudgetTest {
+
+    private static final String ADMIN_TOKEN = "admin";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Stands in for the Keycloak issuer; SecurityConfig and UserService still map the email to authorities.
+     */
+    @TestConfiguration
+    static class TestJwtConfig {
+        @Bean
+        JwtDecoder testJwtDecoder() {
+            return token -> {
+                if (!ADMIN_TOKEN.equals(token)) {
+                    throw new BadJwtException("Unknown test token");
+                }
+                Instant now = Instant.now();
+                return Jwt.withTokenValue(token)
+                        .header("alg", "none")
+                        .subject("admin@example.com")
+                        .claim("email", "admin@example.com")
+                        .issuedAt(now)
+                        .expiresAt(now.plusSeconds(3600))
+                        .build();
+            };
+        }
+    }
+
+    @Test
+    void projectsStayWithinStatementBudget() throws Exception {
+        getProjects()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andDo(result -> QueryBudget.assertWithin(result.getRequest(), 10));
+    }
+
+    @Test
+    void exceededBudgetFailsWithTheStatements() {
+        assertThatThrownBy(() -> getProjects().andDo(result -> QueryBudget.assertWithin(result.getRequest(), 0)))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("GET /api/hierarchy/projects executed")
+                .hasMessageContaining("budget is 0");
+    }
+
+    @Test
+    void repeatedTypeaheadDoesNotResolveProjectAccessAgain() throws Exception {
+        typeahead("p").andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(5));
+        typeahead("p")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andDo(result -> QueryBudget.assertWithin(result.getRequest(), 0));
+    }
+
+    private ResultActions typeahead(String query) throws Exception {
+        return mockMvc.perform(get("/api/hierarchy/typeahead").param("q", query)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + ADMIN_TOKEN));
+    }
+
+    private ResultActions getProjects() throws Exception {
+        return mockMvc.perform(get("/api/hierarchy/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + ADMIN_TOKEN));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ccc.okrtracker.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Assertions on the number of SQL statements a piece of work executes, for tests guarding against N+1
+ * regressions. Throws AssertionError, so it works with any test framework.
+ *
+ * Endpoints, with MockMvc (filters included, e.g. @AutoConfigureMockMvc):
+ *   mockMvc.perform(get("/api/hierarchy/tree")).andDo(result -> QueryBudget.assertWithin(result.getRequest(), 12));
+ *
+ * Service calls:
+ *   List<HierarchyNode> nodes = QueryBudget.assertWithin(3, () -> readService.getChildren(...));
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Fails if the request (served through QueryStatsFilter) executed more than maxStatements statements.
+     */
+    public static void assertWithin(HttpServletRequest request, int maxStatements) {
+        Object statistics = request.getAttribute(QueryStatistics.REQUEST_ATTRIBUTE);
+        if (!(statistics instanceof QueryStatistics stats)) {
+            throw new AssertionError("No query statistics for " + request.getRequestURI()
+                    + "; is QueryStatsFilter registered (app.query-stats.enabled)?");
+        }
+        check(request.getMethod() + " " + request.getRequestURI(), stats, maxStatements);
+    }
+
+    /**
+     * Runs the work on the current thread and fails if it executed more than maxStatements statements.
+     * Statistics already being collected on the thread are restored afterwards, without the work's statements.
+     */
+    public static <T> T assertWithin(int maxStatements, Supplier<T> work) {
+        QueryStatistics outer = QueryStatistics.current();
+        QueryStatistics stats = QueryStatistics.start(5);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            QueryStatistics.stop();
+            if (outer != null) {
+                QueryStatistics.restore(outer);
+            }
+        }
+        check("Work", stats, maxStatements);
+        return result;
+    }
+
+    public static void assertWithin(int maxStatements, Runnable work) {
+        assertWithin(maxStatements, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private static void check(String what, QueryStatistics stats, int maxStatements) {
+        if (stats.statements() > maxStatements) {
+            StringBuilder message = new StringBuilder(what).append(" executed ").append(stats.statements())
+                    .append(" SQL statements, budget is ").append(maxStatements).append(". Slowest:");
+            stats.slowest().forEach(s -> message.append("\n  ").append(s.sql()));
+            throw new AssertionError(message.toString());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ccc.okrtracker.service;
+
+import com.ccc.okrtracker.entity.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rollup rules of ProgressRollup on small in-memory trees. The model has no per-node weights: every active
+ * child counts once in its parent's average, whatever the size of its own subtree.
+ */
+class ProgressRollupTest {
+
+    private final List<BaseEntity> changed = new ArrayList<>();
+
+    @Test
+    void keyResultIsTheRoundedAverageOfItsActiveActionItems() {
+        KeyResult kr = keyResult(0, actionItem(33), actionItem(34), archived(actionItem(100)));
+
+        rollUp(project(initiative(goal(objective(kr)))));
+
+        assertThat(kr.getProgress()).isEqualTo(34);
+    }
+
+    @Test
+    void keyResultAverageIsCappedAt100() {
+        KeyResult kr = keyResult(0, actionItem(150), actionItem(100));
+
+        rollUp(project(initiative(goal(objective(kr)))));
+
+        assertThat(kr.getProgress()).isEqualTo(100);
+    }
+
+    @Test
+    void manualKeyResultKeepsItsProgressAndCountsInItsObjective() {
+        KeyResult manual = keyResult(80, actionItem(0), actionItem(0));
+        manual.setManualProgressSet(true);
+        KeyResult calculated = keyResult(0, actionItem(20));
+        Objective objective = objective(manual, calculated);
+
+        rollUp(project(initiative(goal(objective))));
+
+        assertThat(manual.getProgress()).isEqualTo(80);
+        assertThat(calculated.getProgress()).isEqualTo(20);
+        assertThat(objective.getProgress()).isEqualTo(50);
+        assertThat(changed).doesNotContain(manual);
+    }
+
+    @Test
+    void keyResultWithoutActionItemsKeepsItsProgress() {
+        KeyResult withoutItems = keyResult(40);
+        KeyResult allArchived = keyResult(40, archived(actionItem(100)));
+
+        rollUp(project(initiative(goal(objective(withoutItems, allArchived)))));
+
+        assertThat(withoutItems.getProgress()).isEqualTo(40);
+        assertThat(allArchived.getProgress()).isZero();
+    }
+
+    @Test
+    void everyActiveChildCountsOnceWhateverItsSubtreeSize() {
+        Objective small = objective(keyResult(100));
+        Objective large = objective(keyResult(0), keyResult(0), keyResult(0));
+        Goal goal = goal(small, large);
+
+        rollUp(project(initiative(goal)));
+
+        assertThat(small.getProgress()).isEqualTo(100);
+        assertThat(large.getProgress()).isZero();
+        // 50, not the 25 a per-Key-Result average would give
+        assertThat(goal.getProgress()).isEqualTo(50);
+    }
+
+    @Test
+    void upperLevelsAreRoundedAverages() {
+        Goal goal = goal(objective(keyResult(1)), objective(keyResult(2)));
+        StrategicInitiative init = initiative(goal, goal(objective(keyResult(100))));
+        Project project = project(init);
+
+        rollUp(project);
+
+        assertThat(goal.getProgress()).isEqualTo(2);
+        assertThat(init.getProgress()).isEqualTo(51);
+        assertThat(project.getProgress()).isEqualTo(51);
+    }
+
+    @Test
+    void nodesWithoutActiveChildrenAreZero() {
+        Objective empty = objective();
+        Objective onlyArchived = objective(archived(keyResult(90)));
+        Goal emptyGoal = goal();
+        StrategicInitiative init = initiative(goal(empty, onlyArchived), emptyGoal);
+        set(empty, 60);
+        set(onlyArchived, 60);
+        set(emptyGoal, 60);
+
+        rollUp(project(init));
+
+        assertThat(empty.getProgress()).isZero();
+        assertThat(onlyArchived.getProgress()).isZero();
+        assertThat(emptyGoal.getProgress()).isZero();
+        assertThat(init.getProgress()).isZero();
+    }
+
+    @Test
+    void projectWithoutActiveInitiativesKeepsItsProgress() {
+        Project empty = project();
+        empty.setProgress(70);
+        Project onlyArchived = project(archived(initiative(goal(objective(keyResult(10))))));
+        onlyArchived.setProgress(70);
+
+        rollUp(empty);
+        rollUp(onlyArchived);
+
+        assertThat(empty.getProgress()).isEqualTo(70);
+        assertThat(onlyArchived.getProgress()).isEqualTo(70);
+        assertThat(changed).isEmpty();
+    }
+
+    @Test
+    void archivedNodesAreSkippedAndKeepTheirProgress() {
+        Objective archivedObjective = archived(objective(keyResult(0, actionItem(100))));
+        set(archivedObjective, 30);
+        Goal goal = goal(objective(keyResult(80)), archivedObjective);
+
+        rollUp(project(initiative(goal)));
+
+        assertThat(archivedObjective.getProgress()).isEqualTo(30);
+        assertThat(archivedObjective.getKeyResults().get(0).getProgress()).isZero();
+        assertThat(goal.getProgress()).isEqualTo(80);
+    }
+
+    @Test
+    void listenerOnlyReceivesChangedNodes() {
+        KeyResult kr = keyResult(0, actionItem(60));
+        Objective objective = objective(kr);
+        Project project = project(initiative(goal(objective)));
+
+        rollUp(project);
+        assertThat(changed).hasSize(5).contains(project, objective, kr);
+
+        changed.clear();
+        rollUp(project);
+        assertThat(changed).isEmpty();
+    }
+
+    // --- Tree builders; every node starts active with the given (or 0) progress ---
+
+    private void rollUp(Project project) {
+        ProgressRollup.rollUp(project, (level, node, progress) -> changed.add(node));
+    }
+
+    private static ActionItem actionItem(int progress) {
+        ActionItem ai = new ActionItem();
+        ai.setProgress(progress);
+        return ai;
+    }
+
+    private static KeyResult keyResult(int progress, ActionItem... items) {
+        KeyResult kr = new KeyResult();
+        kr.setProgress(progress);
+        kr.getActionItems().addAll(List.of(items));
+        return kr;
+    }
+
+    private static Objective objective(KeyResult... keyResults) {
+        Objective obj = new Objective();
+        obj.getKeyResults().addAll(List.of(keyResults));
+        return obj;
+    }
+
+    private static Goal goal(Objective... objectives) {
+        Goal goal = new Goal();
+        goal.getObjectives().addAll(List.of(objectives));
+        return goal;
+    }
+
+    private static StrategicInitiative initiative(Goal... goals) {
+        StrategicInitiative init = new StrategicInitiative();
+        init.getGoals().addAll(List.of(goals));
+        return init;
+    }
+
+    private static Project project(StrategicInitiative... initiatives) {
+        Project project = new Project();
+        project.getInitiatives().addAll(List.of(initiatives));
+        return project;
+    }
+
+    private static <T extends BaseEntity> T archived(T entity) {
+        entity.setIsActive(false);
+        return entity;
+    }
+
+    private static void set(BaseEntity entity, int progress) {
+        if (entity instanceof Goal g) g.setProgress(progress);
+        else ((Objective) entity).setProgress(progress);
+    }
+}
@@ -0,0 +1,17 @@
+insert into role (name, description, is_system, is_active) values ('System Administrator', 'all', true, true);
+insert into role_permissions (role_id, permission) values (1, 'VIEW_ALL_PROJECTS');
+insert into app_users (first_name, last_name, email, login, is_active) values ('Ada', 'Admin', 'admin@example.com', 'admin', true);
+insert into user_roles (user_id, role_id) values (1, 1);
+insert into project (title, description, progress, is_active) values ('P1', 'first', 40, true);
+insert into project (title, description, progress, is_active) values ('P2', 'second', 0, true);
+insert into project (title, description, progress, is_active) values ('P3', 'third', 10, true);
+insert into project (title, description, progress, is_active) values ('P4', 'fourth', 0, true);
+insert into project (title, description, progress, is_active) values ('P5', 'fifth', 0, true);
+insert into strategic_initiative (project_id, title, progress, is_active) values (3, 'I3', 10, true);
+insert into strategic_initiative (project_id, title, progress, is_active) values (4, 'I4', 0, true);
+insert into strategic_initiative (project_id, title, progress, is_active) values (1, 'I1', 40, true);
+insert into strategic_initiative (project_id, title, progress, is_active) values (2, 'I2', 0, true);
+insert into goal (initiative_id, project_id, title, progress, is_active) values (1, 1, 'G1', 40, true);
+insert into objective (goal_id, project_id, title, progress, assignee, year, quarter, due_date, is_active) values (1, 1, 'O1', 40, 'admin', 2025, 'Q1', '2025-03-31', true);
+insert into key_result (objective_id, project_id, title, progress, assignee, due_date, manual_progress_set, is_active) values (1, 1, 'K1', 50, 'admin', '2025-03-15', false, true);
+insert into action_item (key_result_id, project_id, title, progress, assignee, due_date, is_completed, is_active) values (1, 1, 'A1', 100, 'admin', '2025-02-01', true, true);
@@ -0,0 +1,97 @@
+package com.ccc.okrtracker.tools;
+
+import com.ccc.okrtracker.entity.HierarchyLevel;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line generator for production-scale synthetic OKR data (no Spring context involved).
+ *
+ * Targets:
+ * - csv: hierarchy-NNNN.csv files in ImportController's 21-column format, for POST /api/import/hierarchy.
+ *   Users, roles and assignments have no import format and are not written.
+ * - postgres: hierarchy, users, roles, user_roles, user_projects and role_projects written with COPY into an
+ *   already migrated database, in one transaction.
+ *
+ * The same options always produce the same data (--year defaults to the current year). Run with
+ * mvn -Pdataset verify -DskipTests -Ddataset.args="..." (options in docs/DEVELOPMENT.md).
+ */
+public final class DatasetGenerator {
+
+    private static final Set<String> OPTIONS = Set.of("target", "projects", "users", "roles", "seed", "year", "out",
+            "rows-per-file", "jdbc-url", "db-user", "db-password");
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String target = options.getOrDefault("target", "csv");
+        int projects = intOption(options, "projects", 1000);
+        int users = intOption(options, "users", 5000);
+        int roles = intOption(options, "roles", 20);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int year = intOption(options, "year", LocalDate.now().getYear());
+        if (projects < 1 || users < 1 || roles < 0) {
+            throw new IllegalArgumentException("projects and users must be positive, roles not negative");
+        }
+
+        long started = System.nanoTime();
+        SyntheticHierarchy hierarchy = new SyntheticHierarchy(seed, projects, users, roles, year);
+        System.out.printf("Generated shape for seed %d, year %d:", seed, year);
+        for (HierarchyLevel level : HierarchyLevel.values()) {
+            System.out.printf(" %s=%d", level.getTypeName(), hierarchy.size(level.ordinal()));
+        }
+        System.out.printf(" users=%d roles=%d assignments=%d%n", users, roles, hierarchy.assignments().size());
+
+        switch (target) {
+            case "csv" -> {
+                Path out = Path.of(options.getOrDefault("out", "synthetic-dataset"));
+                HierarchyCsvWriter writer = new HierarchyCsvWriter(hierarchy, out, intOption(options, "rows-per-file", 15000));
+                List<Path> files = writer.write();
+                System.out.printf("Wrote %d rows to %d files in %s%n", writer.rows(), files.size(), out.toAbsolutePath());
+            }
+            case "postgres" -> {
+                String url = options.get("jdbc-url");
+                if (url == null) {
+                    throw new IllegalArgumentException("--target=postgres needs --jdbc-url");
+                }
+                try (Connection connection = DriverManager.getConnection(url,
+                        options.getOrDefault("db-user", "postgres"), options.getOrDefault("db-password", ""))) {
+                    Map<String, Long> counts = new PostgresCopyLoader(hierarchy, connection).load();
+                    counts.forEach((table, count) -> System.out.printf("  %-22s %,d rows%n", table, count));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown --target '" + target + "', expected csv or postgres");
+        }
+        System.out.printf("Done in %,d ms%n", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            options.put(name, arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
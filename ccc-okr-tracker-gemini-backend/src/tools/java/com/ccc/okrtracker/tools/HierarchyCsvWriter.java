@@ -0,0 +1,137 @@
+package com.ccc.okrtracker.tools;
+
+import com.ccc.okrtracker.controller.ImportController;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a SyntheticHierarchy as CSV files in ImportController's 21-column format: one row per active
+ * Action Item with its ancestors, or one row per active node without active children. Archived nodes are
+ * left out, since the import has no active flag.
+ *
+ * Files are split at project boundaries after rowsPerFile rows, to stay below the 10MB upload limit
+ * (about 500 bytes per row).
+ */
+class HierarchyCsvWriter {
+
+    private static final int COLUMNS = ImportController.CSV_HEADERS.length;
+
+    private final SyntheticHierarchy hierarchy;
+    private final Path directory;
+    private final int rowsPerFile;
+
+    private final List<Path> files = new ArrayList<>();
+    private CSVPrinter printer;
+    private int rowsInFile;
+    private long rows;
+
+    HierarchyCsvWriter(SyntheticHierarchy hierarchy, Path directory, int rowsPerFile) {
+        this.hierarchy = hierarchy;
+        this.directory = directory;
+        this.rowsPerFile = rowsPerFile;
+    }
+
+    /**
+     * @return the files written, in order
+     */
+    List<Path> write() throws IOException {
+        Files.createDirectories(directory);
+        try {
+            SyntheticHierarchy.Node[] path = new SyntheticHierarchy.Node[SyntheticHierarchy.LEVELS];
+            for (int p = 0; p < hierarchy.size(0); p++) {
+                if (printer == null || rowsInFile >= rowsPerFile) {
+                    nextFile();
+                }
+                writeSubtree(0, p, path);
+            }
+        } finally {
+            if (printer != null) {
+                printer.close();
+            }
+        }
+        return files;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private void nextFile() throws IOException {
+        if (printer != null) {
+            printer.close();
+        }
+        Path file = directory.resolve(String.format("hierarchy-%04d.csv", files.size() + 1));
+        Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(ImportController.CSV_HEADERS).build());
+        files.add(file);
+        rowsInFile = 0;
+    }
+
+    private void writeSubtree(int level, int index, SyntheticHierarchy.Node[] path) throws IOException {
+        SyntheticHierarchy.Node node = hierarchy.node(level, index);
+        if (!node.active()) {
+            return;
+        }
+        path[level] = node;
+        boolean wroteChild = false;
+        if (level < SyntheticHierarchy.LEVELS - 1) {
+            for (int c = hierarchy.firstChild(level, index); c < hierarchy.childEnd(level, index); c++) {
+                long before = rows;
+                writeSubtree(level + 1, c, path);
+                wroteChild |= rows > before;
+            }
+        }
+        if (!wroteChild) {
+            writeRow(path, level);
+        }
+    }
+
+    private void writeRow(SyntheticHierarchy.Node[] path, int deepest) throws IOException {
+        String[] row = new String[COLUMNS];
+        Arrays.fill(row, "");
+        set(row, 0, path, deepest, HierarchyLevel.PROJECT);
+        set(row, 2, path, deepest, HierarchyLevel.INITIATIVE);
+        set(row, 4, path, deepest, HierarchyLevel.GOAL);
+        if (set(row, 6, path, deepest, HierarchyLevel.OBJECTIVE)) {
+            SyntheticHierarchy.Node objective = path[HierarchyLevel.OBJECTIVE.ordinal()];
+            row[8] = objective.assignee() != null ? objective.assignee() : "";
+            row[9] = String.valueOf(objective.year());
+            row[10] = objective.quarter();
+            row[11] = objective.dueDate().toString();
+        }
+        if (set(row, 12, path, deepest, HierarchyLevel.KEY_RESULT)) {
+            SyntheticHierarchy.Node kr = path[HierarchyLevel.KEY_RESULT.ordinal()];
+            row[14] = kr.assignee() != null ? kr.assignee() : "";
+            row[15] = kr.dueDate().toString();
+        }
+        if (set(row, 16, path, deepest, HierarchyLevel.ACTION_ITEM)) {
+            SyntheticHierarchy.Node ai = path[HierarchyLevel.ACTION_ITEM.ordinal()];
+            row[18] = ai.assignee() != null ? ai.assignee() : "";
+            row[19] = ai.dueDate().toString();
+            row[20] = String.valueOf(ai.completed());
+        }
+        printer.printRecord((Object[]) row);
+        rowsInFile++;
+        rows++;
+    }
+
+    // Title and description of one level, if the row reaches it
+    private static boolean set(String[] row, int column, SyntheticHierarchy.Node[] path, int deepest, HierarchyLevel level) {
+        if (level.ordinal() > deepest) {
+            return false;
+        }
+        row[column] = path[level.ordinal()].title();
+        row[column + 1] = path[level.ordinal()].description();
+        return true;
+    }
+}
@@ -0,0 +1,286 @@
+package com.ccc.okrtracker.tools;
+
+import com.ccc.okrtracker.entity.ActionItem;
+import com.ccc.okrtracker.entity.BaseEntity;
+import com.ccc.okrtracker.entity.Goal;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+import com.ccc.okrtracker.entity.KeyResult;
+import com.ccc.okrtracker.entity.Objective;
+import com.ccc.okrtracker.entity.Project;
+import com.ccc.okrtracker.entity.StrategicInitiative;
+import com.ccc.okrtracker.service.ProgressRollup;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads a SyntheticHierarchy into an existing, migrated database with COPY, in one transaction.
+ *
+ * Ids are assigned explicitly after the current max(id) of each table, so the data can be added next to
+ * existing rows, and the identity sequences are moved past them afterwards. Progress is rolled up before
+ * writing by ProgressRollup, on an in-memory entity tree of one project at a time, so the stored values are the
+ * ones CalculationService would compute.
+ */
+class PostgresCopyLoader {
+
+    // created_by (and closed_by for archived nodes) of every generated row
+    private static final String CREATED_BY = "dataset-generator";
+
+    private static final List<String> SEQUENCE_TABLES = List.of("project", "strategic_initiative", "goal", "objective",
+            "key_result", "action_item", "role", "app_users");
+
+    private final SyntheticHierarchy hierarchy;
+    private final Connection connection;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private final Map<HierarchyLevel, Long> idOffset = new EnumMap<>(HierarchyLevel.class);
+    private long userOffset;
+    private long roleOffset;
+    private int[][] progress;
+
+    PostgresCopyLoader(SyntheticHierarchy hierarchy, Connection connection) {
+        this.hierarchy = hierarchy;
+        this.connection = connection;
+    }
+
+    /**
+     * @return rows written per table, for the summary
+     */
+    Map<String, Long> load() throws SQLException, IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            for (HierarchyLevel level : HierarchyLevel.values()) {
+                idOffset.put(level, maxId(level.getTableName()));
+            }
+            userOffset = maxId("app_users");
+            roleOffset = maxId("role");
+            progress = rollUpProgress();
+
+            for (HierarchyLevel level : HierarchyLevel.values()) {
+                counts.put(level.getTableName(), copyLevel(level));
+            }
+            counts.put("role", copyRoles());
+            counts.put("role_permissions", copyRolePermissions());
+            counts.put("role_projects", copyRoleProjects());
+            counts.put("app_users", copyUsers());
+            counts.put("user_roles", copyUserRoles());
+            counts.put("user_projects", copyUserProjects());
+
+            try (Statement statement = connection.createStatement()) {
+                for (String table : SEQUENCE_TABLES) {
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(SELECT COALESCE(max(id), 0) + 1 FROM " + table + "), false)");
+                }
+            }
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return counts;
+    }
+
+    private long maxId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(max(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long id(HierarchyLevel level, int index) {
+        return idOffset.get(level) + index + 1;
+    }
+
+    private long copyLevel(HierarchyLevel level) throws SQLException, IOException {
+        String columns = switch (level) {
+            case PROJECT -> "id, title, description, progress";
+            case INITIATIVE -> "id, title, description, progress, project_id";
+            case GOAL -> "id, title, description, progress, initiative_id, project_id";
+            case OBJECTIVE -> "id, title, description, progress, goal_id, project_id, assignee, year, quarter, due_date";
+            case KEY_RESULT -> "id, title, description, progress, objective_id, project_id, assignee, due_date, manual_progress_set";
+            case ACTION_ITEM -> "id, title, description, progress, key_result_id, project_id, assignee, due_date, is_completed";
+        };
+        int ordinal = level.ordinal();
+        try (CSVPrinter printer = copy(level.getTableName(), columns + ", is_active, created_by, created_date, closed_by, closed_date")) {
+            for (int i = 0; i < hierarchy.size(ordinal); i++) {
+                SyntheticHierarchy.Node node = hierarchy.node(ordinal, i);
+                printer.print(id(level, i));
+                printer.print(node.title());
+                printer.print(node.description());
+                printer.print(progress[ordinal][i]);
+                if (level != HierarchyLevel.PROJECT) {
+                    if (level != HierarchyLevel.INITIATIVE) {
+                        printer.print(id(level.parent(), hierarchy.parent(ordinal, i)));
+                    }
+                    printer.print(id(HierarchyLevel.PROJECT, hierarchy.project(ordinal, i)));
+                }
+                switch (level) {
+                    case OBJECTIVE -> printer.printRecord(node.assignee(), node.year(), node.quarter(), node.dueDate(),
+                            node.active(), CREATED_BY, now, closedBy(node), closedDate(node));
+                    case KEY_RESULT -> printer.printRecord(node.assignee(), node.dueDate(), node.manualProgress(),
+                            node.active(), CREATED_BY, now, closedBy(node), closedDate(node));
+                    case ACTION_ITEM -> printer.printRecord(node.assignee(), node.dueDate(), node.completed(),
+                            node.active(), CREATED_BY, now, closedBy(node), closedDate(node));
+                    default -> printer.printRecord(node.active(), CREATED_BY, now, closedBy(node), closedDate(node));
+                }
+            }
+        }
+        return hierarchy.size(ordinal);
+    }
+
+    private static String closedBy(SyntheticHierarchy.Node node) {
+        return node.active() ? null : CREATED_BY;
+    }
+
+    private LocalDateTime closedDate(SyntheticHierarchy.Node node) {
+        return node.active() ? null : now;
+    }
+
+    private long copyRoles() throws SQLException, IOException {
+        try (CSVPrinter printer = copy("role", "id, name, description, is_system, is_active, created_by, created_date")) {
+            for (int r = 0; r < hierarchy.roles().size(); r++) {
+                SyntheticHierarchy.RoleRow role = hierarchy.roles().get(r);
+                printer.printRecord(roleOffset + r + 1, role.name(), role.description(), false, true, CREATED_BY, now);
+            }
+        }
+        return hierarchy.roles().size();
+    }
+
+    private long copyRolePermissions() throws SQLException, IOException {
+        long count = 0;
+        try (CSVPrinter printer = copy("role_permissions", "role_id, permission")) {
+            for (int r = 0; r < hierarchy.roles().size(); r++) {
+                for (String permission : hierarchy.roles().get(r).permissions()) {
+                    printer.printRecord(roleOffset + r + 1, permission);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long copyRoleProjects() throws SQLException, IOException {
+        long count = 0;
+        try (CSVPrinter printer = copy("role_projects", "role_id, project_id")) {
+            for (int r = 0; r < hierarchy.roles().size(); r++) {
+                for (int project : hierarchy.roles().get(r).projects()) {
+                    printer.printRecord(roleOffset + r + 1, id(HierarchyLevel.PROJECT, project));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long copyUsers() throws SQLException, IOException {
+        try (CSVPrinter printer = copy("app_users",
+                "id, first_name, last_name, email, login, group_no, primary_project_id, is_active, created_by, created_date")) {
+            for (int u = 0; u < hierarchy.users().size(); u++) {
+                SyntheticHierarchy.UserRow user = hierarchy.users().get(u);
+                printer.printRecord(userOffset + u + 1, user.firstName(), user.lastName(), user.email(), user.login(),
+                        user.groupNo(), id(HierarchyLevel.PROJECT, user.primaryProject()), true, CREATED_BY, now);
+            }
+        }
+        return hierarchy.users().size();
+    }
+
+    private long copyUserRoles() throws SQLException, IOException {
+        long count = 0;
+        try (CSVPrinter printer = copy("user_roles", "user_id, role_id")) {
+            for (int u = 0; u < hierarchy.users().size(); u++) {
+                for (int role : hierarchy.users().get(u).roles()) {
+                    printer.printRecord(userOffset + u + 1, roleOffset + role + 1);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private long copyUserProjects() throws SQLException, IOException {
+        try (CSVPrinter printer = copy("user_projects", "user_id, project_id, access_level, assigned_date, assigned_by")) {
+            for (SyntheticHierarchy.Assignment assignment : hierarchy.assignments()) {
+                printer.printRecord(userOffset + assignment.user() + 1, id(HierarchyLevel.PROJECT, assignment.project()),
+                        assignment.accessLevel().name(), now, CREATED_BY);
+            }
+        }
+        return hierarchy.assignments().size();
+    }
+
+    private CSVPrinter copy(String table, String columns) throws SQLException, IOException {
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)", 1 << 16);
+        return new CSVPrinter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16),
+                CSVFormat.POSTGRESQL_CSV);
+    }
+
+    /**
+     * Rolled-up progress of every node by level and index. Starts from the generated values (the inputs: Action
+     * Items and manual Key Results) and takes every value ProgressRollup changes.
+     */
+    private int[][] rollUpProgress() {
+        int[][] result = new int[SyntheticHierarchy.LEVELS][];
+        for (int level = 0; level < SyntheticHierarchy.LEVELS; level++) {
+            result[level] = new int[hierarchy.size(level)];
+        }
+        for (int p = 0; p < hierarchy.size(0); p++) {
+            Map<BaseEntity, Integer> indexes = new IdentityHashMap<>();
+            Project project = entity(new Project(), HierarchyLevel.PROJECT, p, indexes, result);
+            for (int i = hierarchy.firstChild(0, p); i < hierarchy.childEnd(0, p); i++) {
+                StrategicInitiative init = entity(new StrategicInitiative(), HierarchyLevel.INITIATIVE, i, indexes, result);
+                project.getInitiatives().add(init);
+                for (int g = hierarchy.firstChild(1, i); g < hierarchy.childEnd(1, i); g++) {
+                    Goal goal = entity(new Goal(), HierarchyLevel.GOAL, g, indexes, result);
+                    init.getGoals().add(goal);
+                    for (int o = hierarchy.firstChild(2, g); o < hierarchy.childEnd(2, g); o++) {
+                        Objective objective = entity(new Objective(), HierarchyLevel.OBJECTIVE, o, indexes, result);
+                        goal.getObjectives().add(objective);
+                        for (int k = hierarchy.firstChild(3, o); k < hierarchy.childEnd(3, o); k++) {
+                            KeyResult kr = entity(new KeyResult(), HierarchyLevel.KEY_RESULT, k, indexes, result);
+                            kr.setProgress(result[4][k]);
+                            kr.setManualProgressSet(hierarchy.node(4, k).manualProgress());
+                            objective.getKeyResults().add(kr);
+                            for (int a = hierarchy.firstChild(4, k); a < hierarchy.childEnd(4, k); a++) {
+                                ActionItem item = entity(new ActionItem(), HierarchyLevel.ACTION_ITEM, a, indexes, result);
+                                item.setProgress(result[5][a]);
+                                kr.getActionItems().add(item);
+                            }
+                        }
+                    }
+                }
+            }
+            ProgressRollup.rollUp(project, (level, node, value) -> result[level.ordinal()][indexes.get(node)] = value);
+        }
+        return result;
+    }
+
+    private <T extends BaseEntity> T entity(T entity, HierarchyLevel level, int index, Map<BaseEntity, Integer> indexes,
+                                            int[][] result) {
+        SyntheticHierarchy.Node node = hierarchy.node(level.ordinal(), index);
+        entity.setIsActive(node.active());
+        result[level.ordinal()][index] = node.progress();
+        indexes.put(entity, index);
+        return entity;
+    }
+}
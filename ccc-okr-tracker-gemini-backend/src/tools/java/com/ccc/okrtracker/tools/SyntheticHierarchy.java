@@ -0,0 +1,255 @@
+package com.ccc.okrtracker.tools;
+
+import com.ccc.okrtracker.entity.AccessLevel;
+import com.ccc.okrtracker.entity.HierarchyLevel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic OKR data for scale testing: the tree shape, users, roles and project assignments.
+ *
+ * Only the shape is held in memory (parent and project index per node). Titles, assignees, dates and progress
+ * are derived from (seed, level, index) on demand, so the CSV writer (depth-first) and the COPY loader
+ * (level by level) produce exactly the same data for the same seed.
+ *
+ * Node indexes are 0-based per level, in breadth-first order: the children of a node are a contiguous range.
+ */
+class SyntheticHierarchy {
+
+    static final int LEVELS = HierarchyLevel.values().length;
+
+    // Children per node by child level (min, max); about 320 Action Items per project on average
+    private static final int[][] CHILDREN = {{0, 0}, {2, 5}, {1, 4}, {2, 5}, {2, 4}, {1, 6}};
+    private static final int ARCHIVED_PERCENT = 3;
+
+    private static final String[] VERBS = {"Improve", "Reduce", "Launch", "Migrate", "Automate", "Expand", "Harden",
+            "Simplify", "Consolidate", "Modernize", "Standardize", "Accelerate"};
+    private static final String[] NOUNS = {"billing", "cloud", "onboarding", "reporting", "pipeline", "support",
+            "security", "analytics", "checkout", "platform", "mobile", "search", "inventory", "partner", "pricing",
+            "network", "payroll", "compliance", "logistics", "warehouse", "retention", "forecasting"};
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Grace", "Linus", "Barbara", "Ken", "Margaret",
+            "Dennis", "Frances", "Edsger", "Radia", "Donald", "Sophie", "Tim", "Hedy", "John"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Hopper", "Torvalds", "Liskov", "Thompson",
+            "Hamilton", "Ritchie", "Allen", "Dijkstra", "Perlman", "Knuth", "Wilson", "Berners", "Lamarr", "Backus"};
+    private static final String[] QUARTERS = {"Q1", "Q2", "Q3", "Q4"};
+
+    // Role templates, repeated until the requested number of roles exists
+    private static final String[][] ROLE_PERMISSIONS = {
+            {"VIEW_STRATEGY"},
+            {"VIEW_STRATEGY", "MANAGE_STRATEGY"},
+            {"VIEW_STRATEGY", "VIEW_ALL_PROJECTS"},
+            {"VIEW_STRATEGY", "MANAGE_USERS", "MANAGE_ROLES"}
+    };
+    private static final String[] ROLE_NAMES = {"Viewer", "Planner", "Portfolio Viewer", "Administrator"};
+
+    record Node(String title, String description, String assignee, LocalDate dueDate, Integer year, String quarter,
+                int progress, boolean manualProgress, boolean completed, boolean active) {
+    }
+
+    record UserRow(String firstName, String lastName, String email, String login, String groupNo,
+                   int primaryProject, List<Integer> roles) {
+    }
+
+    record Assignment(int user, int project, AccessLevel accessLevel) {
+    }
+
+    record RoleRow(String name, String description, List<String> permissions, List<Integer> projects) {
+    }
+
+    private final long seed;
+    private final int year;
+    private final int[][] parent = new int[LEVELS][];
+    private final int[][] project = new int[LEVELS][];
+    private final int[][] firstChild = new int[LEVELS][];
+    private final boolean[][] active = new boolean[LEVELS][];
+    private final List<UserRow> users = new ArrayList<>();
+    private final List<Assignment> assignments = new ArrayList<>();
+    private final List<RoleRow> roles = new ArrayList<>();
+    private final List<List<Integer>> projectUsers = new ArrayList<>();
+
+    SyntheticHierarchy(long seed, int projects, int userCount, int roleCount, int year) {
+        this.seed = seed;
+        this.year = year;
+        buildTree(projects);
+        buildUsers(userCount, roleCount, projects);
+    }
+
+    private void buildTree(int projects) {
+        parent[0] = new int[projects];
+        project[0] = new int[projects];
+        active[0] = new boolean[projects];
+        for (int i = 0; i < projects; i++) {
+            parent[0][i] = -1;
+            project[0][i] = i;
+            active[0][i] = true;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            int above = parent[level - 1].length;
+            int[] first = new int[above + 1];
+            int total = 0;
+            for (int i = 0; i < above; i++) {
+                first[i] = total;
+                SplittableRandom random = random(level - 1, i, 1);
+                total += CHILDREN[level][0] + random.nextInt(CHILDREN[level][1] - CHILDREN[level][0] + 1);
+            }
+            first[above] = total;
+            firstChild[level - 1] = first;
+            parent[level] = new int[total];
+            project[level] = new int[total];
+            active[level] = new boolean[total];
+            for (int i = 0; i < above; i++) {
+                for (int c = first[i]; c < first[i + 1]; c++) {
+                    parent[level][c] = i;
+                    project[level][c] = project[level - 1][i];
+                    // Archiving a node archives its subtree, as HierarchyService does
+                    active[level][c] = active[level - 1][i] && random(level, c, 2).nextInt(100) >= ARCHIVED_PERCENT;
+                }
+            }
+        }
+        firstChild[LEVELS - 1] = new int[parent[LEVELS - 1].length + 1];
+    }
+
+    private void buildUsers(int userCount, int roleCount, int projects) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int p = 0; p < projects; p++) {
+            projectUsers.add(new ArrayList<>());
+        }
+        for (int r = 0; r < roleCount; r++) {
+            int template = r % ROLE_PERMISSIONS.length;
+            List<Integer> scope = new ArrayList<>();
+            // Viewer and Planner roles are scoped to a handful of projects; the others are global
+            if (template < 2) {
+                int size = 1 + random.nextInt(Math.min(10, projects));
+                while (scope.size() < size) {
+                    int p = random.nextInt(projects);
+                    if (!scope.contains(p)) scope.add(p);
+                }
+            }
+            roles.add(new RoleRow("Synthetic " + ROLE_NAMES[template] + " " + (r / ROLE_PERMISSIONS.length + 1),
+                    "Generated by DatasetGenerator", List.of(ROLE_PERMISSIONS[template]), scope));
+        }
+        for (int u = 0; u < userCount; u++) {
+            List<Integer> userProjects = new ArrayList<>();
+            int count = 1 + random.nextInt(Math.min(5, projects));
+            while (userProjects.size() < count) {
+                int p = random.nextInt(projects);
+                if (!userProjects.contains(p)) userProjects.add(p);
+            }
+            for (int p : userProjects) {
+                // Mostly members and viewers, a few managers and owners
+                int roll = random.nextInt(20);
+                AccessLevel level = roll == 0 ? AccessLevel.OWNER : roll < 3 ? AccessLevel.MANAGER
+                        : roll < 12 ? AccessLevel.MEMBER : AccessLevel.VIEWER;
+                assignments.add(new Assignment(u, p, level));
+                projectUsers.get(p).add(u);
+            }
+            List<Integer> userRoles = new ArrayList<>();
+            if (roleCount > 0) {
+                userRoles.add(random.nextInt(roleCount));
+                if (roleCount > 1 && random.nextInt(4) == 0) {
+                    int second = random.nextInt(roleCount);
+                    if (second != userRoles.get(0)) userRoles.add(second);
+                }
+            }
+            users.add(new UserRow(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)], "user" + (u + 1) + "@synthetic.local",
+                    "user" + (u + 1), "G" + (1 + random.nextInt(20)), userProjects.get(0), userRoles));
+        }
+    }
+
+    int size(int level) {
+        return parent[level].length;
+    }
+
+    int parent(int level, int index) {
+        return parent[level][index];
+    }
+
+    int project(int level, int index) {
+        return project[level][index];
+    }
+
+    int firstChild(int level, int index) {
+        return firstChild[level][index];
+    }
+
+    int childEnd(int level, int index) {
+        return firstChild[level][index + 1];
+    }
+
+    int year() {
+        return year;
+    }
+
+    List<UserRow> users() {
+        return users;
+    }
+
+    List<Assignment> assignments() {
+        return assignments;
+    }
+
+    List<RoleRow> roles() {
+        return roles;
+    }
+
+    /**
+     * The attributes of one node. Progress is only set where it is an input (Action Items and Key Results
+     * with manual progress); rolled-up levels are 0 and computed by the consumer.
+     */
+    Node node(int level, int index) {
+        SplittableRandom random = random(level, index, 3);
+        HierarchyLevel type = HierarchyLevel.values()[level];
+        String title = VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + (index + 1);
+        if (type == HierarchyLevel.PROJECT) {
+            title = "Project " + (index + 1) + " " + NOUNS[random.nextInt(NOUNS.length)];
+        }
+        String description = "Synthetic work on " + NOUNS[random.nextInt(NOUNS.length)] + " and "
+                + NOUNS[random.nextInt(NOUNS.length)];
+        boolean isActive = active[level][index];
+
+        // Quarter and due dates follow the owning Objective
+        int quarterIndex = -1;
+        if (level >= HierarchyLevel.OBJECTIVE.ordinal()) {
+            int objective = index;
+            for (int l = level; l > HierarchyLevel.OBJECTIVE.ordinal(); l--) {
+                objective = parent[l][objective];
+            }
+            quarterIndex = random(HierarchyLevel.OBJECTIVE.ordinal(), objective, 4).nextInt(QUARTERS.length);
+        }
+        LocalDate quarterEnd = quarterIndex < 0 ? null : LocalDate.of(year, quarterIndex * 3 + 3, 1).plusMonths(1).minusDays(1);
+
+        return switch (type) {
+            case PROJECT, INITIATIVE, GOAL -> new Node(title, description, null, null, null, null, 0, false, false, isActive);
+            case OBJECTIVE -> new Node(title, description, assignee(level, index, random), quarterEnd, year,
+                    QUARTERS[quarterIndex], 0, false, false, isActive);
+            case KEY_RESULT -> {
+                boolean manual = random.nextInt(10) == 0;
+                yield new Node(title, description, assignee(level, index, random), quarterEnd.minusDays(random.nextInt(30)),
+                        null, null, manual ? random.nextInt(101) : 0, manual, false, isActive);
+            }
+            case ACTION_ITEM -> {
+                boolean completed = random.nextInt(100) < 35;
+                int progress = completed ? 100 : 25 * random.nextInt(4);
+                yield new Node(title, description, assignee(level, index, random), quarterEnd.minusDays(random.nextInt(90)),
+                        null, null, progress, false, completed, isActive);
+            }
+        };
+    }
+
+    // Prefer a user assigned to the node's project, like real assignees
+    private String assignee(int level, int index, SplittableRandom random) {
+        if (users.isEmpty()) return null;
+        List<Integer> candidates = projectUsers.get(project[level][index]);
+        int user = candidates.isEmpty() ? random.nextInt(users.size()) : candidates.get(random.nextInt(candidates.size()));
+        return users.get(user).login();
+    }
+
+    private SplittableRandom random(int level, int index, int purpose) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + ((long) level << 56) + ((long) purpose << 48) + index);
+    }
+}
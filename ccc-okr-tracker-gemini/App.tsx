@@ -145,7 +145,7 @@ const ProtectedAppContent: React.FC = () => {
     
     switch (activeTab) {
       case 'dashboard':
-        return <Dashboard projects={filteredProjects} />;
+        return <Dashboard projectIds={selectedProjectIds} {...tokenProp} />;
       case 'projects':
         return (
           <HierarchyManager 
@@ -170,7 +170,7 @@ const ProtectedAppContent: React.FC = () => {
       case 'settings':
         return <Settings refreshData={refreshData} allProjects={projects} onPreferencesChanged={handlePreferencesChanged} {...tokenProp} />;
       default:
-        return <Dashboard projects={filteredProjects} />;
+        return <Dashboard projectIds={selectedProjectIds} {...tokenProp} />;
     }
   };
 
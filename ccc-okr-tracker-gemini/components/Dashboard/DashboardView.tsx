@@ -1,12 +1,12 @@
 import React from 'react';
-import { Project } from '../../types';
 import { styles } from './styles';
 import { useDashboard } from './useDashboard';
 import { PieChart, Pie, Cell, Tooltip, ResponsiveContainer, AreaChart, Area, XAxis, YAxis, CartesianGrid } from 'recharts';
 import { AlertTriangle, XCircle, Target, Activity } from 'lucide-react';
 
 interface DashboardViewProps {
-  projects: Project[];
+  token: string;
+  projectIds: number[];
 }
 
 // Sub-component for Cards (Pure View)
@@ -27,8 +27,8 @@ const StatCard = ({ title, value, subtext, icon: Icon, colorClass, bgClass }: an
   </div>
 );
 
-export const DashboardView: React.FC<DashboardViewProps> = ({ projects }) => {
-  const { stats, pieData, trendData } = useDashboard(projects);
+export const DashboardView: React.FC<DashboardViewProps> = ({ token, projectIds }) => {
+  const { stats, pieData, trendData, projects } = useDashboard(token, projectIds);
 
   return (
     <div className={styles.container}>
@@ -148,8 +148,8 @@ export const DashboardView: React.FC<DashboardViewProps> = ({ projects }) => {
              <h3 className={styles.projectList.headerTitle}>Active Strategic Projects</h3>
          </div>
          <div className={styles.projectList.list}>
-             {projects.filter(p => p.isActive).map(project => (
-               <div key={project.id} className={styles.projectList.item}>
+             {projects.map(project => (
+               <div key={project.projectId} className={styles.projectList.item}>
                  <div className={styles.projectList.itemHeader}>
                    <div>
                        <span className={styles.projectList.itemTitle}>{project.title}</span>
@@ -1,57 +1,49 @@
-import { useMemo } from 'react';
-import { Project } from '../../types';
+import { useEffect, useMemo, useState } from 'react';
+import { DashboardSummary } from '../../types';
+import * as DataService from '../../services/dataService';
 
-export const useDashboard = (projects: Project[]) => {
-  const stats = useMemo(() => {
-    let totalObjectives = 0;
-    let completedObjectives = 0;
-    let atRisk = 0;
-    let offTrack = 0;
-    let totalProgress = 0;
-    let projectCount = 0;
+// Aggregates are computed by /api/dashboard/summary instead of walking the project tree here
+export const useDashboard = (token: string, projectIds: number[]) => {
+  const [summary, setSummary] = useState<DashboardSummary | null>(null);
+  const projectKey = projectIds.join(',');
 
-    const traverse = (items: any[]) => {
-      items.forEach(item => {
-        if (item.type === 'Objective' && item.isActive) {
-          totalObjectives++;
-          if (item.progress === 100) completedObjectives++;
-          else if (item.progress < 30) offTrack++;
-          else if (item.progress < 70) atRisk++;
-        }
-        if (item.type === 'Project' && item.isActive) {
-            projectCount++;
-            totalProgress += item.progress;
-        }
-        
-        if (item.initiatives) traverse(item.initiatives);
-        if (item.goals) traverse(item.goals);
-        if (item.objectives) traverse(item.objectives);
-      });
-    };
-    
-    traverse(projects);
-    const avgProjectProgress = projectCount > 0 ? Math.round(totalProgress / projectCount) : 0;
+  useEffect(() => {
+    if (!token) return;
+    let cancelled = false;
+    DataService.getDashboardSummary(token, projectIds)
+      .then(data => { if (!cancelled) setSummary(data); })
+      .catch(error => console.error('Failed to load dashboard summary:', error));
+    return () => { cancelled = true; };
+  }, [token, projectKey]); // projectKey stands in for the projectIds array
 
-    return { totalObjectives, completedObjectives, atRisk, offTrack, avgProjectProgress, projectCount };
-  }, [projects]);
+  const stats = useMemo(() => ({
+    totalObjectives: summary?.objectives.total ?? 0,
+    completedObjectives: summary?.objectives.completed ?? 0,
+    onTrack: summary?.objectives.onTrack ?? 0,
+    atRisk: summary?.objectives.atRisk ?? 0,
+    offTrack: summary?.objectives.offTrack ?? 0,
+    avgProjectProgress: summary?.avgProjectProgress ?? 0,
+    projectCount: summary?.projectCount ?? 0,
+  }), [summary]);
 
   const pieData = [
-    { name: 'Completed', value: stats.completedObjectives, color: '#10B981' }, 
-    { name: 'On Track', value: stats.totalObjectives - stats.completedObjectives - stats.atRisk - stats.offTrack, color: '#3B82F6' },
+    { name: 'Completed', value: stats.completedObjectives, color: '#10B981' },
+    { name: 'On Track', value: stats.onTrack, color: '#3B82F6' },
     { name: 'At Risk', value: stats.atRisk, color: '#F59E0B' },
     { name: 'Off Track', value: stats.offTrack, color: '#EF4444' },
   ].filter(d => d.value > 0);
 
-  // MODIFIED: Updated to show a Quarterly trend simulation
-  const trendData = [
-    { name: 'Q4 2024', progress: 40 },
-    { name: 'Q1 2025', progress: 65 },
-    { name: 'Q2 YTD', progress: stats.avgProjectProgress },
-  ];
+  // Average objective progress per planned quarter
+  const trendData = (summary?.byQuarter ?? [])
+    .filter(q => q.year !== null && q.quarter !== null)
+    .map(q => ({ name: `${q.quarter} ${q.year}`, progress: q.avgProgress }));
+
+  const projects = summary?.byProject ?? [];
 
   return {
     stats,
     pieData,
-    trendData
+    trendData,
+    projects
   };
-};
\ No newline at end of file
+};
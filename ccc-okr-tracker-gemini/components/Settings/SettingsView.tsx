@@ -16,6 +16,7 @@ export const SettingsView: React.FC<SettingsViewProps> = ({ refreshData, token,
     const { theme, updateTheme, colors } = useSettings();
     const [isArchiveOpen, setIsArchiveOpen] = useState(false);
     const [archivedItems, setArchivedItems] = useState<any[]>([]);
+    const [archiveCursor, setArchiveCursor] = useState<string | null>(null);
     
     // State for Import Feature
     const [fileToImport, setFileToImport] = useState<File | null>(null);
@@ -81,10 +82,18 @@ export const SettingsView: React.FC<SettingsViewProps> = ({ refreshData, token,
     // MODIFIED: fetchArchive uses useCallback and token dependency
     const fetchArchive = useCallback(async () => {
         if (!token) return;
-        const items = await DataService.getArchivedItems(token); // Pass token
-        setArchivedItems(items);
+        const page = await DataService.getArchivedItems(token); // Pass token
+        setArchivedItems(page.items);
+        setArchiveCursor(page.nextCursor);
     }, [token]);
 
+    const loadMoreArchive = async () => {
+        if (!token || !archiveCursor) return;
+        const page = await DataService.getArchivedItems(token, archiveCursor);
+        setArchivedItems(prev => [...prev, ...page.items]);
+        setArchiveCursor(page.nextCursor);
+    };
+
     useEffect(() => {
         if (isArchiveOpen && token) {
             fetchArchive();
@@ -383,10 +392,10 @@ export const SettingsView: React.FC<SettingsViewProps> = ({ refreshData, token,
                                                     <span className="font-medium text-slate-700">{item.title}</span>
                                                 </td>
                                                 <td className={styles.modal.td}>
-                                                    {item.deletedDate ? new Date(item.deletedDate).toLocaleDateString() + ' ' + new Date(item.deletedDate).toLocaleTimeString() : '-'}
+                                                    {item.closedDate ? new Date(item.closedDate).toLocaleDateString() + ' ' + new Date(item.closedDate).toLocaleTimeString() : '-'}
                                                 </td>
                                                 <td className={styles.modal.td}>
-                                                    {item.deletedBy || 'System'}
+                                                    {item.closedBy || 'System'}
                                                 </td>
                                                 <td className={styles.modal.td}>
                                                     <button onClick={() => handleRestore(item.type, item.id)} className={styles.modal.restoreBtn}>
@@ -406,6 +415,9 @@ export const SettingsView: React.FC<SettingsViewProps> = ({ refreshData, token,
                             )}
                          </div>
                          <div className={styles.modal.footer}>
+                             {archiveCursor && (
+                                 <button onClick={loadMoreArchive} className="px-4 py-2 text-slate-700 bg-white border border-slate-300 rounded-lg hover:bg-slate-50">Load More</button>
+                             )}
                              <button onClick={() => setIsArchiveOpen(false)} className="px-4 py-2 text-slate-700 bg-white border border-slate-300 rounded-lg hover:bg-slate-50">Close</button>
                          </div>
                     </div>
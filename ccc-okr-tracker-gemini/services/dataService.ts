@@ -1,7 +1,9 @@
 // File: jpw9/ccc-okr-tracker-gemini/jpw9-ccc-okr-tracker-gemini-1ed46e9b04cb0ee78a5dd0db3d497ccf40d13ba1/services/dataService.ts
 
 import { 
-  Project, User, Role, UserPreferences
+  Project, User, Role, UserPreferences, DashboardSummary, TimelineItem, ProgressSeries,
+  ProgressSnapshotInfo, ProgressSnapshotDiff, BulkUpdateChange, BulkUpdateResult,
+  SubtreeCloneOptions, SubtreeCloneResult
 } from '../types';
 
 // MODIFIED: Read the API URL from the VITE environment variable set in .env files.
@@ -202,6 +204,24 @@ export const updateEntity = async (type: string, id: number, updates: Partial<an
     }, token);
 };
 
+// Many Key Result / Action Item partial updates in one request; the response carries the recalculated ancestors
+export const bulkUpdateEntities = async (updates: BulkUpdateChange[], token: string): Promise<BulkUpdateResult> => {
+    return await api('/api/hierarchy/bulk', {
+        method: 'PUT',
+        body: JSON.stringify({ updates })
+    }, token);
+};
+
+// type is 'goals' or 'objectives'; e.g. { year: 2025, quarter: 'Q3', resetProgress: true } copies into the next quarter
+export const cloneSubtree = async (
+    type: 'goals' | 'objectives', id: number, options: SubtreeCloneOptions, token: string
+): Promise<SubtreeCloneResult> => {
+    return await api(`/api/hierarchy/${type}/${id}/clone`, {
+        method: 'POST',
+        body: JSON.stringify(options)
+    }, token);
+};
+
 // --- IMPORT FUNCTION ---
 // MODIFIED: Added token parameter
 export const importHierarchyFromFile = async (file: File, token: string): Promise<string> => {
@@ -341,11 +361,65 @@ export const getRoleScopedProjects = async (roleId: number, token: string): Prom
     return await api(`/api/admin/roles/${roleId}/projects`, {}, token);
 };
 
+// --- DASHBOARD ---
+
+// Aggregates computed server-side; an empty projectIds list means all accessible projects
+export const getDashboardSummary = async (token: string, projectIds: number[] = []): Promise<DashboardSummary> => {
+    const params = new URLSearchParams();
+    projectIds.forEach(id => params.append('projectId', String(id)));
+    const query = params.toString();
+    return await api(`/api/dashboard/summary${query ? `?${query}` : ''}`, {}, token);
+};
+
+// --- TIMELINE ---
+
+// Items due inside [from, to] (YYYY-MM-DD), earliest first; pass the previous page's nextCursor as 'after'
+export const getTimeline = async (
+    token: string, from: string, to: string, projectIds: number[] = [], after?: string | null
+): Promise<{ items: TimelineItem[]; nextCursor: string | null }> => {
+    const params = new URLSearchParams({ from, to, limit: '200' });
+    projectIds.forEach(id => params.append('projectIds', String(id)));
+    if (after) params.set('after', after);
+    return await api(`/api/timeline?${params.toString()}`, {}, token);
+};
+
+// --- PROGRESS HISTORY ---
+
+// type is a URL segment such as 'objectives'; from/to are YYYY-MM-DD and default to the last 90 days
+export const getProgressHistory = async (
+    token: string, type: string, id: number, bucket: 'day' | 'week' | 'month' = 'day', from?: string, to?: string
+): Promise<ProgressSeries> => {
+    const params = new URLSearchParams({ bucket });
+    if (from) params.set('from', from);
+    if (to) params.set('to', to);
+    return await api(`/api/hierarchy/${type}/${id}/progress-history?${params.toString()}`, {}, token);
+};
+
+// --- PROGRESS SNAPSHOTS ---
+
+export const getProgressSnapshots = async (token: string, from?: string, to?: string): Promise<ProgressSnapshotInfo[]> => {
+    const params = new URLSearchParams();
+    if (from) params.set('from', from);
+    if (to) params.set('to', to);
+    return await api(`/api/progress-snapshots?${params.toString()}`, {}, token);
+};
+
+// from/to are snapshot dates (YYYY-MM-DD); an empty projectIds list means all accessible projects
+export const diffProgressSnapshots = async (
+    token: string, from: string, to: string, projectIds: number[] = [], limit = 500
+): Promise<ProgressSnapshotDiff> => {
+    const params = new URLSearchParams({ from, to, limit: String(limit) });
+    projectIds.forEach(id => params.append('projectIds', String(id)));
+    return await api(`/api/progress-snapshots/diff?${params.toString()}`, {}, token);
+};
+
 // --- ARCHIVE & RESTORE ---
 
-// MODIFIED: Added token parameter
-export const getArchivedItems = async (token: string): Promise<any[]> => {
-    return await api('/api/archive', {}, token);
+// Keyset-paginated: pass the previous page's nextCursor as 'after' to load more
+export const getArchivedItems = async (token: string, after?: string | null): Promise<{ items: any[]; nextCursor: string | null }> => {
+    const params = new URLSearchParams({ limit: '50' });
+    if (after) params.set('after', after);
+    return await api(`/api/archive/items?${params.toString()}`, {}, token);
 };
 
 // MODIFIED: Added token parameter
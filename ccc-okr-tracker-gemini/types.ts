@@ -127,4 +127,111 @@ export interface UserPreferences {
   defaultProjectId?: string;    // Project ID to auto-select on login (string because stored as text)
   defaultLandingPage?: string;  // Tab ID: 'dashboard' | 'projects' | 'mindmap' | 'gantt' | 'my-objectives'
   sidebarCollapsed?: string;    // 'true' | 'false'
-}
\ No newline at end of file
+}
+// --- DASHBOARD ---
+export interface StatusCounts {
+  total: number;
+  completed: number;
+  onTrack: number;
+  atRisk: number;
+  offTrack: number;
+}
+
+export interface DashboardSummary {
+  projectCount: number;
+  avgProjectProgress: number;
+  objectives: StatusCounts;
+  keyResults: StatusCounts;
+  byProject: { projectId: number; title: string; description?: string; progress: number; objectives: StatusCounts }[];
+  byQuarter: { year: number | null; quarter: string | null; objectives: number; completed: number; avgProgress: number }[];
+  byAssignee: { assignee: string; objectives: number; keyResults: number; openActionItems: number; completedActionItems: number }[];
+}
+
+// --- TIMELINE ---
+export interface TimelineItem {
+  type: 'Objective' | 'KeyResult' | 'ActionItem';
+  id: number;
+  parentId: number;
+  projectId: number;
+  title: string;
+  progress: number;
+  assignee?: string;
+  dueDate: string;
+  year?: number;
+  quarter?: string;
+  isCompleted?: boolean;
+}
+
+// --- BULK UPDATE ---
+export interface BulkUpdateChange {
+  type: 'KeyResult' | 'ActionItem';
+  id: number;
+  title?: string;
+  description?: string;
+  assignee?: string;
+  dueDate?: string;
+  progress?: number;
+  isCompleted?: boolean; // Action Items only
+}
+
+// Flat nodes as returned by /api/hierarchy/tree, without children
+export interface BulkUpdateNode {
+  id: number;
+  parentId?: number;
+  type: string;
+  title: string;
+  progress: number;
+  isCompleted?: boolean;
+}
+
+export interface BulkUpdateResult {
+  updated: BulkUpdateNode[];
+  ancestors: BulkUpdateNode[];
+}
+
+// --- SUBTREE CLONE ---
+export interface SubtreeCloneOptions {
+  targetParentId?: number; // Initiative for a Goal, Goal for an Objective; defaults to the source's parent
+  year?: number;
+  quarter?: string;
+  resetProgress?: boolean;
+}
+
+export interface SubtreeCloneResult {
+  type: 'Goal' | 'Objective';
+  sourceId: number;
+  id: number;
+  parentId: number;
+  projectId: number;
+  nodeCount: number;
+  countsByType: Record<string, number>;
+}
+
+// --- PROGRESS HISTORY ---
+export interface ProgressSeries {
+  type: string;
+  id: number;
+  bucket: 'day' | 'week' | 'month';
+  from: string;
+  to: string;
+  startProgress: number | null;
+  points: { bucketStart: string; progress: number; min: number; max: number; samples: number }[];
+}
+
+// --- PROGRESS SNAPSHOTS ---
+export interface ProgressSnapshotInfo {
+  date: string;
+  nodeCount: number;
+  capturedAt: string;
+}
+
+export interface ProgressSnapshotDiff {
+  from: string;
+  to: string;
+  changed: number;
+  added: number;
+  removed: number;
+  truncated: boolean;
+  // fromProgress is null for nodes added since 'from', toProgress for nodes archived by 'to'
+  changes: { type: string; id: number; projectId: number; fromProgress: number | null; toProgress: number | null }[];
+}